@@ -0,0 +1,91 @@
+package com.newtab.auth.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Password encoder used for every stored {@code users.password_hash}.
+ * <p>
+ * New hashes are written with {@code auth.password.encoder} (bcrypt or
+ * argon2) and carry an {@code {id}} prefix. Hashes stored before prefixes were
+ * introduced are plain BCrypt and are still matched. Any hash that is not in
+ * the current encoder and cost is rewritten on the next successful login.
+ * <p>
+ * A BCrypt strength of 0 calibrates the cost at startup: the highest strength
+ * whose hash time on this host stays within {@code auth.password.target-hash-time}.
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordEncoderConfig.class);
+
+    private static final int MIN_BCRYPT_STRENGTH = 10;
+    private static final int MAX_BCRYPT_STRENGTH = 16;
+    private static final int CALIBRATION_SAMPLES = 3;
+
+    @Bean
+    public PasswordEncoder passwordEncoder(
+            @Value("${auth.password.encoder:bcrypt}") String encoderId,
+            @Value("${auth.password.bcrypt.strength:0}") int bcryptStrength,
+            @Value("${auth.password.target-hash-time:250ms}") Duration targetHashTime,
+            @Value("${auth.password.argon2.memory-kib:19456}") int argon2MemoryKib,
+            @Value("${auth.password.argon2.iterations:2}") int argon2Iterations,
+            @Value("${auth.password.argon2.parallelism:1}") int argon2Parallelism) {
+        int strength = bcryptStrength > 0 ? bcryptStrength : calibrateBcryptStrength(targetHashTime);
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", bcrypt);
+        encoders.put("argon2", new Argon2PasswordEncoder(16, 32, argon2Parallelism, argon2MemoryKib, argon2Iterations));
+        if (!encoders.containsKey(encoderId)) {
+            throw new IllegalArgumentException("Unsupported auth.password.encoder: " + encoderId);
+        }
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(encoderId, encoders);
+        // Hashes written before the {id} prefix was introduced are plain BCrypt
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        log.info("Password encoder: {} (bcrypt strength {})", encoderId, strength);
+        return encoder;
+    }
+
+    /**
+     * Times BCrypt at increasing strengths and returns the highest one whose
+     * best-of-N hash time is still within the target. Each step doubles the
+     * cost, so the search stops at the first strength that overshoots.
+     */
+    static int calibrateBcryptStrength(Duration targetHashTime) {
+        long targetNanos = targetHashTime.toNanos();
+        int chosen = MIN_BCRYPT_STRENGTH;
+        for (int strength = MIN_BCRYPT_STRENGTH; strength <= MAX_BCRYPT_STRENGTH; strength++) {
+            long nanos = timeBcrypt(strength);
+            log.debug("BCrypt strength {} took {} ms", strength, nanos / 1_000_000);
+            if (nanos > targetNanos) {
+                break;
+            }
+            chosen = strength;
+        }
+        return chosen;
+    }
+
+    private static long timeBcrypt(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibration-password");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
@@ -1,5 +1,12 @@
 package com.newtab.auth.controller;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -32,9 +39,12 @@ import jakarta.validation.Valid;
 public class AuthController {
 
     private final AuthService authService;
+    private final long validateMaxAgeSeconds;
 
-    public AuthController(AuthService authService) {
+    public AuthController(AuthService authService,
+            @Value("${auth.validate-cache.http-max-age-seconds:30}") long validateMaxAgeSeconds) {
         this.authService = authService;
+        this.validateMaxAgeSeconds = validateMaxAgeSeconds;
     }
 
     @PostMapping("/register")
@@ -79,7 +89,7 @@ public class AuthController {
     }
 
     @GetMapping("/validate")
-    @Operation(summary = "Validate token", description = "Validates JWT token and returns user email and userType. For nginx auth_request, also sets X-User-Email and X-User-Type headers.")
+    @Operation(summary = "Validate token", description = "Validates JWT token and returns user email and userType. For nginx auth_request, also sets X-User-Email and X-User-Type headers, and a Cache-Control max-age bounded by the token's remaining lifetime.")
     @SecurityRequirement(name = "bearerAuth")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Token is valid", content = @Content(schema = @Schema(implementation = ValidateResponse.class))),
@@ -96,6 +106,24 @@ public class AuthController {
         response.setHeader("X-User-Email", validateResponse.getEmail());
         response.setHeader("X-User-Type", validateResponse.getUserType());
 
-        return ResponseEntity.ok(validateResponse);
+        // Let the nginx auth_request cache reuse this result, never past the token's own expiry
+        long maxAge = cacheableSeconds(validateResponse.getExpiresAt());
+        if (maxAge <= 0) {
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    .body(validateResponse);
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(maxAge, TimeUnit.SECONDS).cachePublic())
+                .varyBy(HttpHeaders.AUTHORIZATION)
+                .body(validateResponse);
+    }
+
+    private long cacheableSeconds(Instant expiresAt) {
+        if (expiresAt == null) {
+            return 0;
+        }
+        long remaining = Duration.between(Instant.now(), expiresAt).getSeconds();
+        return Math.min(remaining, validateMaxAgeSeconds);
     }
 }
@@ -0,0 +1,38 @@
+package com.newtab.auth.controller;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.newtab.auth.security.JwtSigningKeys;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/auth")
+@Tag(name = "Authentication", description = "User authentication and token management")
+public class JwksController {
+
+    private final JwtSigningKeys signingKeys;
+
+    public JwksController(JwtSigningKeys signingKeys) {
+        this.signingKeys = signingKeys;
+    }
+
+    @GetMapping("/jwks")
+    @Operation(summary = "JSON Web Key Set", description = "Public keys that verify access tokens signed with ES256 or EdDSA. Empty when tokens are signed with the shared HMAC secret.")
+    @ApiResponse(responseCode = "200", description = "Current and recently retired public keys")
+    public ResponseEntity<Map<String, List<Map<String, Object>>>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(Map.of("keys", signingKeys.publicJwks()));
+    }
+}
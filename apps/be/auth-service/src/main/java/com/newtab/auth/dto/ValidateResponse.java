@@ -1,12 +1,16 @@
 package com.newtab.auth.dto;
 
+import java.time.Instant;
+
 public class ValidateResponse {
     private final String email;
     private final String userType;
+    private final Instant expiresAt;
 
-    public ValidateResponse(String email, String userType) {
+    public ValidateResponse(String email, String userType, Instant expiresAt) {
         this.email = email;
         this.userType = userType != null ? userType : "guest";
+        this.expiresAt = expiresAt;
     }
 
     public String getEmail() {
@@ -16,4 +20,8 @@ public class ValidateResponse {
     public String getUserType() {
         return userType;
     }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
 }
@@ -1,21 +1,46 @@
 package com.newtab.auth.repository;
 
-import java.util.List;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.newtab.auth.entity.RefreshToken;
 
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
 
-    Optional<RefreshToken> findByToken(String token);
-
-    List<RefreshToken> findByUserId(String userId);
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
 
     void deleteByUserId(String userId);
 
-    void deleteByToken(String token);
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshToken r where r.tokenHash = :tokenHash")
+    int deleteByTokenHash(@Param("tokenHash") String tokenHash);
+
+    @Modifying
+    @Query("delete from RefreshToken r where r.userId = :userId and r.expiryDate < :now")
+    int deleteExpiredByUserId(@Param("userId") String userId, @Param("now") LocalDateTime now);
+
+    /**
+     * Deletes up to {@code batchSize} expired tokens, oldest first, in its own
+     * short transaction. Walks idx_refresh_tokens_expiry_date.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM refresh_tokens
+            WHERE id IN (
+                SELECT id FROM refresh_tokens
+                WHERE expiry_date < :now
+                ORDER BY expiry_date
+                LIMIT :batchSize)
+            """, nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
 }
@@ -2,7 +2,11 @@ package com.newtab.auth.repository;
 
 import com.newtab.auth.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
@@ -10,4 +14,19 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    /**
+     * Inserts the user unless the email is taken, in a single statement.
+     * Returns 1 when the row was created and 0 when the email already exists.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO users (email, password_hash, created_at, updated_at) "
+            + "VALUES (:email, :passwordHash, now(), now()) "
+            + "ON CONFLICT (email) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("email") String email, @Param("passwordHash") String passwordHash);
+
+    @Modifying
+    @Query("update User u set u.passwordHash = :passwordHash, u.updatedAt = :now where u.email = :email")
+    int updatePasswordHash(@Param("email") String email, @Param("passwordHash") String passwordHash,
+            @Param("now") LocalDateTime now);
 }
@@ -1,42 +1,40 @@
 package com.newtab.auth.security;
 
 import java.util.Date;
-
-import javax.crypto.SecretKey;
+import java.util.Optional;
+import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 
 @Component
 public class JwtProvider {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
-
-    @Value("${jwt.expiration}")
-    private long jwtExpiration;
-
-    @Value("${jwt.refresh-expiration}")
-    private long jwtRefreshExpiration;
-
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    private final TokenVerifier tokenVerifier;
+    private final JwtSigningKeys signingKeys;
+    private final long jwtExpiration;
+    private final long jwtRefreshExpiration;
+
+    public JwtProvider(TokenVerifier tokenVerifier, JwtSigningKeys signingKeys,
+            @Value("${jwt.expiration}") long jwtExpiration,
+            @Value("${jwt.refresh-expiration}") long jwtRefreshExpiration) {
+        this.tokenVerifier = tokenVerifier;
+        this.signingKeys = signingKeys;
+        this.jwtExpiration = jwtExpiration;
+        this.jwtRefreshExpiration = jwtRefreshExpiration;
     }
 
     public String generateToken(String email) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
 
-        return Jwts.builder()
+        return signingKeys.signAccessToken(Jwts.builder()
                 .subject(email)
                 .issuedAt(now)
-                .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .expiration(expiryDate))
                 .compact();
     }
 
@@ -44,69 +42,41 @@ public class JwtProvider {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
 
-        return Jwts.builder()
+        return signingKeys.signAccessToken(Jwts.builder()
                 .subject(email)
                 .claim("userType", userType)
                 .issuedAt(now)
-                .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .expiration(expiryDate))
                 .compact();
     }
 
-    public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.getSubject();
-    }
-
-    public String getUserTypeFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.get("userType", String.class);
-    }
-
-    public boolean validateToken(String token) {
+    /**
+     * Verifies the token once and returns all of its claims, or empty if the
+     * token is malformed, expired or not signed with our key.
+     */
+    public Optional<TokenClaims> parseToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            return Optional.of(tokenVerifier.parse(token));
         } catch (JwtException | IllegalArgumentException ex) {
-            return false;
+            return Optional.empty();
         }
     }
 
+    public boolean validateToken(String token) {
+        return parseToken(token).isPresent();
+    }
+
     public String generateRefreshToken(String email, String userType) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtRefreshExpiration);
 
-        return Jwts.builder()
+        return signingKeys.signRefreshToken(Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(email)
                 .claim("userType", userType)
                 .claim("type", "refresh")
                 .issuedAt(now)
-                .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .expiration(expiryDate))
                 .compact();
     }
-
-    public boolean isRefreshToken(String token) {
-        try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-            return "refresh".equals(claims.get("type", String.class));
-        } catch (JwtException | IllegalArgumentException ex) {
-            return false;
-        }
-    }
 }
@@ -0,0 +1,192 @@
+package com.newtab.auth.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.crypto.SecretKey;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.PrivateJwk;
+import io.jsonwebtoken.security.PublicJwk;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+
+/**
+ * Owns every key used to sign and verify tokens.
+ * <p>
+ * Refresh tokens are only ever verified by this service and are always signed
+ * with the shared HMAC secret. Access tokens use the same secret by default
+ * ({@code jwt.signing.algorithm=HS256}). With ES256 or EdDSA their public keys
+ * are published as a JWKS, so other services can verify tokens without the
+ * secret or a call to this service.
+ * <p>
+ * The signing key comes from {@code jwt.signing.private-jwk}, shared by every
+ * instance, together with any {@code jwt.signing.retired-public-jwks} that
+ * still have tokens in flight. Rotation is then an operator change to those two
+ * settings. Without a configured key, each instance generates its own key pair
+ * in memory and rotates it every {@code jwt.signing.rotation-interval}. That
+ * only works with a single instance: a token signed by one instance cannot be
+ * verified by another. Set {@code jwt.signing.allow-generated-keys=false} to
+ * refuse to start without a shared key.
+ */
+@Component
+public class JwtSigningKeys {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtSigningKeys.class);
+
+    private final SecretKey secretKey;
+    private final SignatureAlgorithm asymmetricAlgorithm;
+    private final long retentionMillis;
+    private final boolean sharedKey;
+    private final Map<String, PublishedKey> publishedKeys = new ConcurrentHashMap<>();
+    private volatile ActiveKey activeKey;
+    private volatile List<Map<String, Object>> jwks = List.of();
+
+    public JwtSigningKeys(
+            @Value("${jwt.secret}") String jwtSecret,
+            @Value("${jwt.signing.algorithm:HS256}") String algorithm,
+            @Value("${jwt.expiration}") long jwtExpiration,
+            @Value("${jwt.signing.private-jwk:}") String privateJwk,
+            @Value("${jwt.signing.retired-public-jwks:}") String retiredPublicJwks,
+            @Value("${jwt.signing.allow-generated-keys:true}") boolean allowGeneratedKeys) {
+        this.secretKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.asymmetricAlgorithm = resolveAlgorithm(algorithm);
+        this.retentionMillis = jwtExpiration;
+        this.sharedKey = asymmetricAlgorithm != null && !privateJwk.isBlank();
+        if (sharedKey) {
+            loadSharedKeys(privateJwk, retiredPublicJwks);
+        } else if (asymmetricAlgorithm != null) {
+            if (!allowGeneratedKeys) {
+                throw new IllegalStateException("jwt.signing.private-jwk is required for " + algorithm
+                        + " when jwt.signing.allow-generated-keys=false");
+            }
+            log.warn("Signing {} access tokens with a key generated in memory; tokens only verify against this "
+                    + "instance. Set jwt.signing.private-jwk when running more than one auth-service.", algorithm);
+            rotate();
+        }
+    }
+
+    private static SignatureAlgorithm resolveAlgorithm(String algorithm) {
+        return switch (algorithm.toUpperCase(Locale.ROOT)) {
+            case "HS256" -> null;
+            case "ES256" -> Jwts.SIG.ES256;
+            case "EDDSA" -> Jwts.SIG.EdDSA;
+            default -> throw new IllegalArgumentException("Unsupported jwt.signing.algorithm: " + algorithm);
+        };
+    }
+
+    private void loadSharedKeys(String privateJwk, String retiredPublicJwks) {
+        Jwk<?> jwk = Jwks.parser().build().parse(privateJwk);
+        if (!(jwk instanceof PrivateJwk<?, ?, ?> signingJwk)) {
+            throw new IllegalArgumentException("jwt.signing.private-jwk must be a private JWK");
+        }
+        PublicJwk<?> publicJwk = signingJwk.toPublicJwk();
+        String kid = jwk.getId() != null ? jwk.getId() : publicJwk.thumbprint().toString();
+        publishedKeys.put(kid, new PublishedKey(publicJwk.toKey(), Long.MAX_VALUE));
+        if (!retiredPublicJwks.isBlank()) {
+            for (Jwk<?> retired : Jwks.setParser().build().parse(retiredPublicJwks).getKeys()) {
+                if (retired.getId() != null && retired.toKey() instanceof PublicKey publicKey) {
+                    publishedKeys.putIfAbsent(retired.getId(), new PublishedKey(publicKey, Long.MAX_VALUE));
+                }
+            }
+        }
+        activeKey = new ActiveKey(kid, signingJwk.toKey());
+        jwks = publishedKeys.entrySet().stream()
+                .map(entry -> toJwk(entry.getKey(), entry.getValue().publicKey()))
+                .toList();
+        log.info("Signing {} access tokens with shared key kid={}, {} key(s) published",
+                asymmetricAlgorithm.getId(), kid, jwks.size());
+    }
+
+    /**
+     * Generates a new access-token key pair and retires the previous one. The
+     * retired public key stays published for one access-token lifetime. Does
+     * nothing when the key is shared through configuration.
+     */
+    @Scheduled(fixedDelayString = "${jwt.signing.rotation-interval:PT24H}",
+            initialDelayString = "${jwt.signing.rotation-interval:PT24H}")
+    public synchronized void rotate() {
+        if (asymmetricAlgorithm == null || sharedKey) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        KeyPair keyPair = asymmetricAlgorithm.keyPair().build();
+        String kid = UUID.randomUUID().toString();
+
+        // Publish before signing with it, so verifiers that refresh on an unknown kid find it
+        publishedKeys.put(kid, new PublishedKey(keyPair.getPublic(), Long.MAX_VALUE));
+        ActiveKey previous = activeKey;
+        activeKey = new ActiveKey(kid, keyPair.getPrivate());
+        if (previous != null) {
+            publishedKeys.computeIfPresent(previous.kid(),
+                    (id, key) -> new PublishedKey(key.publicKey(), now + retentionMillis));
+        }
+        publishedKeys.values().removeIf(key -> key.publishedUntil() < now);
+        jwks = publishedKeys.entrySet().stream()
+                .map(entry -> toJwk(entry.getKey(), entry.getValue().publicKey()))
+                .toList();
+        log.info("Rotated {} access-token signing key, kid={}, {} key(s) published",
+                asymmetricAlgorithm.getId(), kid, jwks.size());
+    }
+
+    private static Map<String, Object> toJwk(String kid, PublicKey publicKey) {
+        return new LinkedHashMap<>(Jwks.builder().key(publicKey).id(kid).build());
+    }
+
+    public JwtBuilder signAccessToken(JwtBuilder builder) {
+        ActiveKey key = activeKey;
+        if (key == null) {
+            return builder.signWith(secretKey);
+        }
+        return builder.header().keyId(key.kid()).and()
+                .signWith(key.privateKey(), asymmetricAlgorithm);
+    }
+
+    public JwtBuilder signRefreshToken(JwtBuilder builder) {
+        return builder.signWith(secretKey);
+    }
+
+    /**
+     * Returns the key that verifies a token with the given header, or null if
+     * the key id is unknown or no longer published.
+     */
+    Key verificationKey(String algorithm, String keyId) {
+        if (algorithm != null && algorithm.startsWith("HS")) {
+            return secretKey;
+        }
+        PublishedKey key = keyId != null ? publishedKeys.get(keyId) : null;
+        return key != null ? key.publicKey() : null;
+    }
+
+    /**
+     * Public keys in JWK form, suitable for a {@code {"keys": [...]}} document.
+     * Empty when access tokens are signed with the shared secret.
+     */
+    public List<Map<String, Object>> publicJwks() {
+        return jwks;
+    }
+
+    private record ActiveKey(String kid, PrivateKey privateKey) {
+    }
+
+    private record PublishedKey(PublicKey publicKey, long publishedUntil) {
+    }
+}
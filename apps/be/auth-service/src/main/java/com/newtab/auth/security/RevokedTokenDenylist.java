@@ -0,0 +1,56 @@
+package com.newtab.auth.security;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * In-memory denylist of revoked stateless refresh tokens, keyed by their
+ * {@code jti}. An entry only needs to live until the token itself expires, so
+ * the list holds at most the tokens revoked within one refresh-token
+ * lifetime. Entries are lost on restart and are not shared between
+ * instances.
+ */
+@Component
+public class RevokedTokenDenylist {
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    public RevokedTokenDenylist(MeterRegistry meterRegistry) {
+        meterRegistry.gaugeMapSize("auth.token.denylist.size", Tags.empty(), revoked);
+    }
+
+    public void revoke(String tokenId, Instant expiresAt) {
+        if (tokenId == null || expiresAt == null || !expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+        revoked.put(tokenId, expiresAt.toEpochMilli());
+    }
+
+    /**
+     * Revokes the token unless it already was. Returns false if it had been
+     * revoked before, so two concurrent uses of one token cannot both succeed.
+     */
+    public boolean tryRevoke(String tokenId, Instant expiresAt) {
+        if (tokenId == null || expiresAt == null || !expiresAt.isAfter(Instant.now())) {
+            return false;
+        }
+        return revoked.putIfAbsent(tokenId, expiresAt.toEpochMilli()) == null;
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && revoked.containsKey(tokenId);
+    }
+
+    @Scheduled(fixedDelayString = "PT1M")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+    }
+}
@@ -0,0 +1,17 @@
+package com.newtab.auth.security;
+
+import java.time.Instant;
+
+/**
+ * Immutable view of the claims carried by a verified JWT.
+ */
+public record TokenClaims(String email, String userType, String type, String tokenId, Instant expiresAt) {
+
+    public boolean isRefreshToken() {
+        return "refresh".equals(type);
+    }
+
+    public boolean isGuest() {
+        return "guest".equals(userType);
+    }
+}
@@ -0,0 +1,73 @@
+package com.newtab.auth.security;
+
+import java.security.Key;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Verifies signed JWTs with a parser that is built once at startup. The
+ * verification key is looked up per token from {@link JwtSigningKeys}, by
+ * algorithm and key id. Every call is timed under the {@code jwt.verify}
+ * metric, tagged by outcome.
+ */
+@Component
+public class TokenVerifier {
+
+    private final JwtParser parser;
+    private final Timer validTimer;
+    private final Timer invalidTimer;
+
+    public TokenVerifier(JwtSigningKeys signingKeys, MeterRegistry meterRegistry) {
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return signingKeys.verificationKey(header.getAlgorithm(), header.getKeyId());
+                    }
+                })
+                .build();
+        this.validTimer = Timer.builder("jwt.verify")
+                .description("Time spent verifying JWT signatures and parsing claims")
+                .tag("outcome", "valid")
+                .register(meterRegistry);
+        this.invalidTimer = Timer.builder("jwt.verify")
+                .description("Time spent verifying JWT signatures and parsing claims")
+                .tag("outcome", "invalid")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Verifies the token signature and expiry and returns its claims.
+     *
+     * @throws JwtException             if the token is malformed, expired or
+     *                                  carries an invalid signature
+     * @throws IllegalArgumentException if the token is null or blank
+     */
+    public TokenClaims parse(String token) {
+        long start = System.nanoTime();
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            TokenClaims result = new TokenClaims(
+                    claims.getSubject(),
+                    claims.get("userType", String.class),
+                    claims.get("type", String.class),
+                    claims.getId(),
+                    claims.getExpiration().toInstant());
+            validTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (JwtException | IllegalArgumentException ex) {
+            invalidTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.newtab.auth.security;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.newtab.auth.dto.ValidateResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * Size-bounded cache of successful token validations, keyed by the token's
+ * SHA-256 digest. Each entry expires at the token's own {@code exp}, so a hit
+ * never outlives the token it was created for.
+ */
+@Component
+public class ValidatedTokenCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock sweepLock = new ReentrantLock();
+    private final boolean enabled;
+    private final int maxSize;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter expiredEvictions;
+    private final Counter sizeEvictions;
+
+    public ValidatedTokenCache(
+            @Value("${auth.validate-cache.enabled:true}") boolean enabled,
+            @Value("${auth.validate-cache.max-size:10000}") int maxSize,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.hits = Counter.builder("auth.token.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("auth.token.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.expiredEvictions = Counter.builder("auth.token.cache.evictions").tag("cause", "expired")
+                .register(meterRegistry);
+        this.sizeEvictions = Counter.builder("auth.token.cache.evictions").tag("cause", "size")
+                .register(meterRegistry);
+        meterRegistry.gaugeMapSize("auth.token.cache.size", Tags.empty(), entries);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the cached validation for the given token digest, or null on a
+     * miss or when the cached token has expired.
+     */
+    public ValidateResponse get(String tokenDigest) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry = entries.get(tokenDigest);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAtMillis() <= System.currentTimeMillis()) {
+            if (entries.remove(tokenDigest, entry)) {
+                expiredEvictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.response();
+    }
+
+    public void put(String tokenDigest, ValidateResponse response, Instant expiresAt) {
+        if (!enabled || expiresAt == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long expiresAtMillis = expiresAt.toEpochMilli();
+        if (expiresAtMillis <= now) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            makeRoom(now);
+        }
+        entries.put(tokenDigest, new Entry(response, expiresAtMillis));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Drops expired entries first and, if the cache is still full, an arbitrary
+     * tenth of the remaining ones. Only one thread sweeps at a time; others
+     * insert without waiting and may overshoot the bound briefly.
+     */
+    private void makeRoom(long now) {
+        if (!sweepLock.tryLock()) {
+            return;
+        }
+        try {
+            Iterator<Entry> it = entries.values().iterator();
+            while (it.hasNext()) {
+                if (it.next().expiresAtMillis() <= now) {
+                    it.remove();
+                    expiredEvictions.increment();
+                }
+            }
+            int toDrop = entries.size() - (maxSize - Math.max(1, maxSize / 10));
+            Iterator<String> keys = entries.keySet().iterator();
+            while (toDrop > 0 && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+                sizeEvictions.increment();
+                toDrop--;
+            }
+        } finally {
+            sweepLock.unlock();
+        }
+    }
+
+    private record Entry(ValidateResponse response, long expiresAtMillis) {
+    }
+}
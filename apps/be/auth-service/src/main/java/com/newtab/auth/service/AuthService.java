@@ -1,13 +1,12 @@
 package com.newtab.auth.service;
 
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.UUID;
 
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.newtab.auth.dto.AuthResponse;
 import com.newtab.auth.dto.LoginRequest;
@@ -15,57 +14,101 @@ import com.newtab.auth.dto.RegisterRequest;
 import com.newtab.auth.dto.ValidateResponse;
 import com.newtab.auth.entity.RefreshToken;
 import com.newtab.auth.entity.User;
+import com.newtab.auth.exception.PasswordHashingOverloadedException;
 import com.newtab.auth.repository.RefreshTokenRepository;
 import com.newtab.auth.repository.UserRepository;
 import com.newtab.auth.security.JwtProvider;
+import com.newtab.auth.security.PasswordHasher;
+import com.newtab.auth.security.RevokedTokenDenylist;
+import com.newtab.auth.security.TokenClaims;
+import com.newtab.auth.security.TokenDigest;
+import com.newtab.auth.security.ValidatedTokenCache;
 
 @Service
 public class AuthService {
 
     private final UserRepository userRepository;
     private final JwtProvider jwtProvider;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final RefreshTokenRepository refreshTokenRepository;
+    private final ValidatedTokenCache validatedTokenCache;
+    private final RevokedTokenDenylist revokedTokenDenylist;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean statelessGuests;
 
     public AuthService(UserRepository userRepository, JwtProvider jwtProvider,
-            RefreshTokenRepository refreshTokenRepository) {
+            RefreshTokenRepository refreshTokenRepository, ValidatedTokenCache validatedTokenCache,
+            PasswordHasher passwordHasher, RevokedTokenDenylist revokedTokenDenylist,
+            TransactionTemplate transactionTemplate,
+            @Value("${auth.guest.stateless:true}") boolean statelessGuests) {
         this.userRepository = userRepository;
         this.jwtProvider = jwtProvider;
         this.refreshTokenRepository = refreshTokenRepository;
-        this.passwordEncoder = new BCryptPasswordEncoder();
+        this.validatedTokenCache = validatedTokenCache;
+        this.passwordHasher = passwordHasher;
+        this.revokedTokenDenylist = revokedTokenDenylist;
+        this.transactionTemplate = transactionTemplate;
+        this.statelessGuests = statelessGuests;
     }
 
-    @Transactional
+    /**
+     * Password hashing runs before the transaction starts, so a slow hash never
+     * holds a pooled database connection. The user row is written with one
+     * conditional insert; the unique email constraint decides duplicates, so
+     * concurrent sign-ups for the same address cannot both succeed.
+     */
     public AuthResponse register(RegisterRequest request) {
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new RuntimeException("Email already registered");
-        }
-
-        User user = new User();
-        user.setEmail(request.getEmail());
-        user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
-
-        userRepository.save(user);
-
-        String authToken = jwtProvider.generateToken(user.getEmail(), "registered");
-        String refreshToken = createAndStoreRefreshToken(user.getEmail(), "registered");
-        return new AuthResponse(authToken, refreshToken, "registered");
+        String email = request.getEmail();
+        String passwordHash = passwordHasher.encode(request.getPassword());
+
+        return transactionTemplate.execute(status -> {
+            if (userRepository.insertIfAbsent(email, passwordHash) == 0) {
+                throw new RuntimeException("Email already registered");
+            }
+
+            // A brand-new user has no expired refresh tokens to clean up
+            String authToken = jwtProvider.generateToken(email, "registered");
+            String refreshToken = storeRefreshToken(email, "registered");
+            return new AuthResponse(authToken, refreshToken, "registered");
+        });
     }
 
-    @Transactional
     public AuthResponse login(LoginRequest request) {
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("Invalid credentials"));
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
+        if (!passwordHasher.matches(request.getPassword(), user.getPasswordHash())) {
             throw new RuntimeException("Invalid credentials");
         }
 
+        String upgradedHash = rehashIfNeeded(request.getPassword(), user.getPasswordHash());
+
         String authToken = jwtProvider.generateToken(user.getEmail(), "registered");
-        String refreshToken = createAndStoreRefreshToken(user.getEmail(), "registered");
+        String refreshToken = transactionTemplate.execute(status -> {
+            if (upgradedHash != null) {
+                userRepository.updatePasswordHash(user.getEmail(), upgradedHash, LocalDateTime.now());
+            }
+            return createAndStoreRefreshToken(user.getEmail(), "registered");
+        });
         return new AuthResponse(authToken, refreshToken, "registered");
     }
 
+    /**
+     * Returns a new hash when the stored one uses an older encoder or cost, or
+     * null when it is current. Under overload the upgrade is skipped and
+     * retried on a later login rather than failing this one.
+     */
+    private String rehashIfNeeded(String rawPassword, String storedHash) {
+        if (!passwordHasher.needsRehash(storedHash)) {
+            return null;
+        }
+        try {
+            return passwordHasher.encode(rawPassword);
+        } catch (PasswordHashingOverloadedException ex) {
+            return null;
+        }
+    }
+
     @Transactional
     public AuthResponse refreshToken(String email, String userType) {
         String type = (userType != null && !userType.isEmpty()) ? userType : "guest";
@@ -74,17 +117,39 @@ public class AuthService {
         return new AuthResponse(authToken, refreshToken, type);
     }
 
-    @Transactional
     public AuthResponse refreshUsingRefreshToken(String refreshToken) {
-        if (!jwtProvider.validateToken(refreshToken)) {
-            throw new RuntimeException("Invalid refresh token");
-        }
+        TokenClaims claims = jwtProvider.parseToken(refreshToken)
+                .orElseThrow(() -> new RuntimeException("Invalid refresh token"));
 
-        if (!jwtProvider.isRefreshToken(refreshToken)) {
+        if (!claims.isRefreshToken()) {
             throw new RuntimeException("Not a refresh token");
         }
 
-        var storedToken = refreshTokenRepository.findByToken(refreshToken)
+        // Guest tokens issued before jti was added still live in the refresh_tokens table
+        if (statelessGuests && claims.isGuest() && claims.tokenId() != null) {
+            return refreshStatelessGuest(claims);
+        }
+        return transactionTemplate.execute(status -> refreshStoredToken(refreshToken));
+    }
+
+    /**
+     * Guest refresh tokens are self-contained: the signature and expiry are the
+     * proof, so no row is read or written. Each token is single-use: its jti
+     * goes on the denylist when it is exchanged, as on logout, so a rotated
+     * token cannot be replayed.
+     */
+    private AuthResponse refreshStatelessGuest(TokenClaims claims) {
+        if (!revokedTokenDenylist.tryRevoke(claims.tokenId(), claims.expiresAt())) {
+            throw new RuntimeException("Refresh token revoked");
+        }
+        String newAuthToken = jwtProvider.generateToken(claims.email(), "guest");
+        String newRefreshToken = jwtProvider.generateRefreshToken(claims.email(), "guest");
+        return new AuthResponse(newAuthToken, newRefreshToken, "guest");
+    }
+
+    private AuthResponse refreshStoredToken(String refreshToken) {
+        String tokenHash = TokenDigest.sha256Hex(refreshToken);
+        var storedToken = refreshTokenRepository.findByTokenHash(tokenHash)
                 .orElseThrow(() -> new RuntimeException("Refresh token not found"));
 
         if (storedToken.isExpired()) {
@@ -98,58 +163,87 @@ public class AuthService {
         String newAuthToken = jwtProvider.generateToken(email, userType);
         String newRefreshToken = createAndStoreRefreshToken(email, userType);
 
-        deleteRefreshToken(refreshToken);
+        refreshTokenRepository.delete(storedToken);
 
         return new AuthResponse(newAuthToken, newRefreshToken, userType);
     }
 
-    @Transactional
     public AuthResponse guestToken() {
         String guestEmail = "guest-" + UUID.randomUUID() + "@guest.newtab";
         String authToken = jwtProvider.generateToken(guestEmail, "guest");
-        String refreshToken = createAndStoreRefreshToken(guestEmail, "guest");
+        String refreshToken = statelessGuests
+                ? jwtProvider.generateRefreshToken(guestEmail, "guest")
+                : transactionTemplate.execute(status -> createAndStoreRefreshToken(guestEmail, "guest"));
         return new AuthResponse(authToken, refreshToken, "guest");
     }
 
     public ValidateResponse validateToken(String token) {
-        if (!jwtProvider.validateToken(token)) {
+        if (!validatedTokenCache.isEnabled()) {
+            TokenClaims claims = parseAccessToken(token);
+            return new ValidateResponse(claims.email(), claims.userType(), claims.expiresAt());
+        }
+
+        String cacheKey = TokenDigest.sha256Hex(token);
+        ValidateResponse cached = validatedTokenCache.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        TokenClaims claims = parseAccessToken(token);
+        ValidateResponse response = new ValidateResponse(claims.email(), claims.userType(), claims.expiresAt());
+        validatedTokenCache.put(cacheKey, response, claims.expiresAt());
+        return response;
+    }
+
+    /**
+     * Refresh tokens are signed with the same keys but must never work as a
+     * bearer token, here or in newtab-service's local mode.
+     */
+    private TokenClaims parseAccessToken(String token) {
+        TokenClaims claims = jwtProvider.parseToken(token)
+                .orElseThrow(() -> new RuntimeException("Invalid token"));
+        if (claims.isRefreshToken()) {
             throw new RuntimeException("Invalid token");
         }
-        String email = jwtProvider.getEmailFromToken(token);
-        String userType = jwtProvider.getUserTypeFromToken(token);
-        return new ValidateResponse(email, userType);
+        return claims;
     }
 
-    @Transactional
     public void logout(String refreshToken) {
+        TokenClaims claims = jwtProvider.parseToken(refreshToken).orElse(null);
+        if (statelessGuests && claims != null && claims.isGuest() && claims.tokenId() != null) {
+            revokedTokenDenylist.revoke(claims.tokenId(), claims.expiresAt());
+            return;
+        }
         deleteRefreshToken(refreshToken);
     }
 
     private String createAndStoreRefreshToken(String email, String userType) {
+        String token = storeRefreshToken(email, userType);
+        cleanExpiredRefreshTokens(email);
+        return token;
+    }
+
+    private String storeRefreshToken(String email, String userType) {
         String token = jwtProvider.generateRefreshToken(email, userType);
         LocalDateTime expiryDate = calculateRefreshTokenExpiry();
 
         RefreshToken refreshTokenEntity = new RefreshToken();
-        refreshTokenEntity.setToken(token);
+        refreshTokenEntity.setTokenHash(TokenDigest.sha256Hex(token));
         refreshTokenEntity.setUserId(email);
         refreshTokenEntity.setUserType(userType);
         refreshTokenEntity.setExpiryDate(expiryDate);
 
         refreshTokenRepository.save(refreshTokenEntity);
-        cleanExpiredRefreshTokens(email);
 
         return token;
     }
 
     private void deleteRefreshToken(String token) {
-        refreshTokenRepository.deleteByToken(token);
+        refreshTokenRepository.deleteByTokenHash(TokenDigest.sha256Hex(token));
     }
 
     private void cleanExpiredRefreshTokens(String userId) {
-        List<RefreshToken> userTokens = refreshTokenRepository.findByUserId(userId);
-        userTokens.stream()
-                .filter(RefreshToken::isExpired)
-                .forEach(refreshTokenRepository::delete);
+        refreshTokenRepository.deleteExpiredByUserId(userId, LocalDateTime.now());
     }
 
     private LocalDateTime calculateRefreshTokenExpiry() {
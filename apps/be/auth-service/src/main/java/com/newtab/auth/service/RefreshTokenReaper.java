@@ -0,0 +1,119 @@
+package com.newtab.auth.service;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.newtab.auth.repository.RefreshTokenRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Periodically deletes expired refresh tokens in small batches. Without it,
+ * rows are only removed on the login/refresh path of the same user, so tokens
+ * of one-off guests would pile up forever. Each batch runs in its own
+ * transaction. The job pauses between batches and caps the batches per run,
+ * so it never holds locks or I/O long enough to compete with foreground
+ * traffic.
+ * <p>
+ * A session-level advisory lock lets only one instance reap at a time. The
+ * pauses run on a scheduler thread, so {@code spring.task.scheduling.pool.size}
+ * keeps other scheduled jobs from waiting behind a run.
+ */
+@Component
+public class RefreshTokenReaper {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenReaper.class);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration pauseBetweenBatches;
+    private final Counter purged;
+    private final Timer runTimer;
+
+    public RefreshTokenReaper(RefreshTokenRepository refreshTokenRepository, JdbcTemplate jdbcTemplate,
+            @Value("${auth.refresh-token-reaper.enabled:true}") boolean enabled,
+            @Value("${auth.refresh-token-reaper.batch-size:1000}") int batchSize,
+            @Value("${auth.refresh-token-reaper.max-batches-per-run:100}") int maxBatchesPerRun,
+            @Value("${auth.refresh-token-reaper.pause-between-batches:100ms}") Duration pauseBetweenBatches,
+            MeterRegistry meterRegistry) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.pauseBetweenBatches = pauseBetweenBatches;
+        this.purged = Counter.builder("auth.refresh_tokens.purged")
+                .description("Expired refresh tokens deleted by the background reaper")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("auth.refresh_tokens.reaper.run")
+                .description("Duration of a refresh token reaper run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${auth.refresh-token-reaper.interval:PT10M}", initialDelayString = "PT1M")
+    public void purgeExpired() {
+        if (!enabled) {
+            return;
+        }
+        // The session lock lives on this connection for the whole run; the batches use their own
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (!advisoryLock(connection, "SELECT pg_try_advisory_lock(hashtext('refresh_tokens_reaper'))")) {
+                log.debug("Refresh token reaper is running on another instance, skipping");
+                return null;
+            }
+            try {
+                purgeBatches();
+            } finally {
+                advisoryLock(connection, "SELECT pg_advisory_unlock(hashtext('refresh_tokens_reaper'))");
+            }
+            return null;
+        });
+    }
+
+    private void purgeBatches() {
+        long start = System.nanoTime();
+        LocalDateTime cutoff = LocalDateTime.now();
+        int total = 0;
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                int deleted = refreshTokenRepository.deleteExpiredBatch(cutoff, batchSize);
+                total += deleted;
+                purged.increment(deleted);
+                if (deleted < batchSize) {
+                    break;
+                }
+                Thread.sleep(pauseBetweenBatches.toMillis());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            runTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            log.debug("Purged {} expired refresh tokens in {} ms", total, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+    }
+
+    private static boolean advisoryLock(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet result = statement.executeQuery(sql)) {
+            return result.next() && result.getBoolean(1);
+        }
+    }
+}
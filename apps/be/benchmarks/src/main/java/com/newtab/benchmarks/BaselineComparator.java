@@ -0,0 +1,95 @@
+package com.newtab.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares a JMH JSON result ({@code -rf json}) against a stored baseline and
+ * exits non-zero if any benchmark got slower by more than the threshold.
+ * <p>
+ * A change only counts as a regression when it exceeds both the threshold and
+ * the combined 99.9% error of the two runs, so noise alone does not fail the
+ * check.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.newtab.benchmarks.BaselineComparator \
+ *     baselines/baseline.json target/result.json [threshold-percent]
+ * </pre>
+ */
+public final class BaselineComparator {
+
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10.0;
+
+    private BaselineComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: BaselineComparator <baseline.json> <result.json> [threshold-percent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+
+        Map<String, Score> baseline = read(new File(args[0]));
+        Map<String, Score> current = read(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s%n", "benchmark", "baseline", "current", "change");
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s%n", entry.getKey(), "-", now.value(), "new");
+                continue;
+            }
+            double changePercent = (now.value() - before.value()) / before.value() * 100.0;
+            // Positive "worse" means slower: more time per op, or fewer ops per time
+            double worsePercent = now.higherIsBetter() ? -changePercent : changePercent;
+            boolean beyondNoise = Math.abs(now.value() - before.value()) > now.error() + before.error();
+            boolean regressed = worsePercent > threshold && beyondNoise;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%%s%n", entry.getKey(), before.value(), now.value(),
+                    changePercent, regressed ? "  REGRESSION" : "");
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+        System.out.printf("No regressions beyond %.1f%%%n", threshold);
+    }
+
+    private static Map<String, Score> read(File file) throws IOException {
+        JsonNode results = new ObjectMapper().readTree(file);
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            JsonNode metric = result.path("primaryMetric");
+            double error = metric.path("scoreError").asDouble(0.0);
+            scores.put(key(result), new Score(
+                    metric.path("score").asDouble(),
+                    Double.isNaN(error) ? 0.0 : error,
+                    "thrpt".equals(result.path("mode").asText())));
+        }
+        return scores;
+    }
+
+    private static String key(JsonNode result) {
+        StringBuilder key = new StringBuilder(result.path("benchmark").asText()
+                .replace("com.newtab.benchmarks.", ""));
+        Map<String, String> params = new TreeMap<>();
+        result.path("params").fields().forEachRemaining(field -> params.put(field.getKey(), field.getValue().asText()));
+        params.forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+        return key.toString();
+    }
+
+    private record Score(double value, double error, boolean higherIsBetter) {
+    }
+}
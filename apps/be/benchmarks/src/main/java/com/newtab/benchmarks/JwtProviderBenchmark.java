@@ -0,0 +1,70 @@
+package com.newtab.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.newtab.auth.security.JwtProvider;
+import com.newtab.auth.security.JwtSigningKeys;
+import com.newtab.auth.security.TokenClaims;
+import com.newtab.auth.security.TokenVerifier;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Access-token issue and verify cost in auth-service, per signing algorithm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JwtProviderBenchmark {
+
+    static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hs256";
+    static final long ACCESS_TOKEN_TTL_MILLIS = 3_600_000;
+
+    @Param({ "HS256", "ES256", "EdDSA" })
+    public String algorithm;
+
+    private JwtProvider jwtProvider;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        jwtProvider = newJwtProvider(algorithm);
+        accessToken = jwtProvider.generateToken("user@example.com", "registered");
+    }
+
+    static JwtProvider newJwtProvider(String algorithm) {
+        JwtSigningKeys signingKeys = new JwtSigningKeys(SECRET, algorithm, ACCESS_TOKEN_TTL_MILLIS, "", "", true);
+        TokenVerifier verifier = new TokenVerifier(signingKeys, new SimpleMeterRegistry());
+        return new JwtProvider(verifier, signingKeys, ACCESS_TOKEN_TTL_MILLIS, ACCESS_TOKEN_TTL_MILLIS * 24);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtProvider.generateToken("user@example.com", "registered");
+    }
+
+    @Benchmark
+    public TokenClaims parseToken() {
+        return jwtProvider.parseToken(accessToken).orElseThrow();
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtProvider.validateToken(accessToken);
+    }
+}
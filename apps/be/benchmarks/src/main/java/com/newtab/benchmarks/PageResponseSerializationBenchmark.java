@@ -0,0 +1,72 @@
+package com.newtab.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.newtab.newtab.dto.NewsFeedItem;
+import com.newtab.newtab.dto.PageResponse;
+
+/**
+ * JSON encoding of a {@code GET /api/news} page of {@link NewsFeedItem} cards,
+ * using an ObjectMapper configured the way Spring Boot configures the MVC
+ * one. The default first page is served pre-serialized from
+ * {@code NewsFeedSnapshot}, so this is the cost of every other page and of
+ * one snapshot rebuild.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PageResponseSerializationBenchmark {
+
+    @Param({ "10", "50" })
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private PageResponse<NewsFeedItem> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        LocalDateTime publishedAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<NewsFeedItem> items = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            items.add(new NewsFeedItem(
+                    UUID.randomUUID(),
+                    "Headline number " + i + " about something happening today",
+                    "A two or three sentence summary of the article. ".repeat(8),
+                    "https://news.example.com/articles/" + i,
+                    "Example News",
+                    "https://cdn.example.com/images/" + i + ".jpg",
+                    "technology",
+                    publishedAt.minusMinutes(i),
+                    publishedAt));
+        }
+        page = new PageResponse<>(items, 0, pageSize, 1_000, 1_000 / pageSize);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,130 @@
+package com.newtab.benchmarks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.newtab.auth.dto.AuthResponse;
+import com.newtab.auth.dto.RegisterRequest;
+import com.newtab.auth.repository.RefreshTokenRepository;
+import com.newtab.auth.repository.UserRepository;
+import com.newtab.auth.security.PasswordHasher;
+import com.newtab.auth.security.RevokedTokenDenylist;
+import com.newtab.auth.security.ValidatedTokenCache;
+import com.newtab.auth.service.AuthService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * {@code AuthService.register} with BCrypt at its minimum cost, so token
+ * issue and the repository round trips are not hidden by hashing. Every
+ * repository call counts as one SQL statement; each iteration fails unless
+ * registration issued exactly {@value #STATEMENTS_PER_REGISTER} statements in
+ * one transaction per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RegisterBenchmark {
+
+    /** The conditional user insert and the refresh-token insert. */
+    static final int STATEMENTS_PER_REGISTER = 2;
+
+    private final AtomicLong registrations = new AtomicLong();
+    private final AtomicLong statements = new AtomicLong();
+    private final AtomicLong transactions = new AtomicLong();
+
+    private AuthService authService;
+    private PasswordHasher passwordHasher;
+    private RegisterRequest request;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        passwordHasher = new PasswordHasher(new BCryptPasswordEncoder(4), 1, 1, Duration.ofSeconds(1), registry);
+        authService = new AuthService(
+                RepositoryStubs.stub(UserRepository.class, Map.of(
+                        "insertIfAbsent", args -> {
+                            statements.incrementAndGet();
+                            return 1;
+                        })),
+                JwtProviderBenchmark.newJwtProvider("HS256"),
+                RepositoryStubs.stub(RefreshTokenRepository.class, Map.of(
+                        "save", args -> {
+                            statements.incrementAndGet();
+                            return args[0];
+                        })),
+                new ValidatedTokenCache(true, 10_000, registry),
+                passwordHasher,
+                new RevokedTokenDenylist(registry),
+                new TransactionTemplate(new CountingTransactionManager()),
+                true);
+        request = new RegisterRequest();
+        request.setEmail("user@example.com");
+        request.setPassword("benchmark-password");
+    }
+
+    @TearDown(Level.Iteration)
+    public void checkStatementCount() {
+        long calls = registrations.getAndSet(0);
+        long issued = statements.getAndSet(0);
+        long opened = transactions.getAndSet(0);
+        if (issued != calls * STATEMENTS_PER_REGISTER || opened != calls) {
+            throw new IllegalStateException(String.format(
+                    "%d registrations issued %d statements in %d transactions, expected %d per registration in one",
+                    calls, issued, opened, STATEMENTS_PER_REGISTER));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        passwordHasher.destroy();
+    }
+
+    @Benchmark
+    public AuthResponse register() {
+        registrations.incrementAndGet();
+        return authService.register(request);
+    }
+
+    /** Stands in for the JPA transaction manager and counts transactions begun. */
+    private final class CountingTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            transactions.incrementAndGet();
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.newtab.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Minimal in-memory stand-ins for Spring Data repositories, so service logic
+ * can be measured without a database. Only the listed methods are answered;
+ * anything else fails loudly so a benchmark never silently measures a no-op.
+ */
+final class RepositoryStubs {
+
+    private RepositoryStubs() {
+    }
+
+    static <T> T stub(Class<T> repositoryType, Map<String, Function<Object[], Object>> answers) {
+        Object proxy = Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[] { repositoryType },
+                (self, method, args) -> {
+                    switch (method.getName()) {
+                        case "toString":
+                            return repositoryType.getSimpleName() + "Stub";
+                        case "hashCode":
+                            return System.identityHashCode(self);
+                        case "equals":
+                            return self == args[0];
+                        default:
+                            Function<Object[], Object> answer = answers.get(method.getName());
+                            if (answer == null) {
+                                throw new UnsupportedOperationException(
+                                        repositoryType.getSimpleName() + "." + method.getName() + " is not stubbed");
+                            }
+                            return answer.apply(args);
+                    }
+                });
+        return repositoryType.cast(proxy);
+    }
+}
@@ -0,0 +1,84 @@
+package com.newtab.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.newtab.newtab.entity.SearchHistory;
+import com.newtab.newtab.entity.User;
+import com.newtab.newtab.repository.SearchHistoryRepository;
+import com.newtab.newtab.repository.UserRepository;
+import com.newtab.newtab.service.SearchHistoryService;
+
+/**
+ * The "5 latest unique queries" dedup in {@code SearchHistoryService.getUserHistory},
+ * over a user's full history with a given share of repeated queries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SearchHistoryDedupBenchmark {
+
+    private static final long SEED = 42L;
+
+    @Param({ "10", "100", "1000" })
+    public int historySize;
+
+    /** Number of distinct queries the history is drawn from. */
+    @Param({ "3", "50" })
+    public int distinctQueries;
+
+    private SearchHistoryService searchHistoryService;
+
+    @Setup
+    public void setUp() {
+        UUID userId = UUID.randomUUID();
+        User user = new User();
+        user.setId(userId);
+        user.setEmail("user@example.com");
+
+        Random random = new Random(SEED);
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<SearchHistory> history = new ArrayList<>(historySize);
+        for (int i = 0; i < historySize; i++) {
+            SearchHistory entry = new SearchHistory();
+            entry.setId(UUID.randomUUID());
+            entry.setUserId(userId);
+            entry.setQuery("query " + random.nextInt(distinctQueries));
+            entry.setCreatedAt(now.minusMinutes(i));
+            history.add(entry);
+        }
+        List<SearchHistory> snapshot = List.copyOf(history);
+
+        searchHistoryService = new SearchHistoryService(
+                RepositoryStubs.stub(SearchHistoryRepository.class,
+                        Map.of("findByUserIdOrderByCreatedAtDesc", args -> snapshot)),
+                RepositoryStubs.stub(UserRepository.class,
+                        Map.of("findByEmail", args -> Optional.of(user))));
+    }
+
+    @Benchmark
+    public List<SearchHistory> getUserHistory() {
+        return searchHistoryService.getUserHistory("user@example.com");
+    }
+}
@@ -0,0 +1,74 @@
+package com.newtab.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.newtab.newtab.entity.AdvertisementType;
+import com.newtab.newtab.entity.Sponsor;
+import com.newtab.newtab.entity.SponsorPositionType;
+import com.newtab.newtab.repository.SponsorRepository;
+import com.newtab.newtab.service.SponsorService;
+
+/**
+ * Random sponsor pick in {@code SponsorService.getRandomSponsor}, single
+ * threaded and under contention on the shared {@link java.util.Random}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SponsorSelectionBenchmark {
+
+    @Param({ "1", "10", "100" })
+    public int activeSponsors;
+
+    private SponsorService sponsorService;
+
+    @Setup
+    public void setUp() {
+        List<Sponsor> sponsors = new ArrayList<>(activeSponsors);
+        for (int i = 0; i < activeSponsors; i++) {
+            Sponsor sponsor = new Sponsor();
+            sponsor.setId(UUID.randomUUID());
+            sponsor.setName("Sponsor " + i);
+            sponsor.setAdvertisementType(AdvertisementType.IMAGE);
+            sponsor.setPositionType(SponsorPositionType.WINDOW);
+            sponsor.setMediaUrl("https://cdn.example.com/sponsor-" + i + ".png");
+            sponsor.setLinkUrl("https://example.com/" + i);
+            sponsor.setIsActive(true);
+            sponsors.add(sponsor);
+        }
+        List<Sponsor> snapshot = List.copyOf(sponsors);
+        sponsorService = new SponsorService(
+                RepositoryStubs.stub(SponsorRepository.class, Map.of("findByIsActiveTrue", args -> snapshot)));
+    }
+
+    @Benchmark
+    public Sponsor getRandomSponsor() {
+        return sponsorService.getRandomSponsor();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Sponsor getRandomSponsorContended() {
+        return sponsorService.getRandomSponsor();
+    }
+}
@@ -0,0 +1,72 @@
+package com.newtab.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.newtab.auth.security.JwtProvider;
+import com.newtab.auth.security.TokenClaims;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Per-request cost of {@code /api/auth/validate} token handling before and
+ * after the single-parse change, with HS256 as before. {@code tripleParse}
+ * reproduces the old {@code validateToken}, {@code getEmailFromToken},
+ * {@code getUserTypeFromToken} sequence: each call derived the key, built a
+ * parser and verified the signature again. {@code singleParse} is the current
+ * {@code JwtProvider.parseToken}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TokenParseCountBenchmark {
+
+    private JwtProvider jwtProvider;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        jwtProvider = JwtProviderBenchmark.newJwtProvider("HS256");
+        accessToken = jwtProvider.generateToken("user@example.com", "registered");
+    }
+
+    @Benchmark
+    public void tripleParse(Blackhole blackhole) {
+        legacyParse(accessToken);
+        blackhole.consume(legacyParse(accessToken).getSubject());
+        blackhole.consume(legacyParse(accessToken).get("userType", String.class));
+    }
+
+    @Benchmark
+    public TokenClaims singleParse() {
+        return jwtProvider.parseToken(accessToken).orElseThrow();
+    }
+
+    private static Claims legacyParse(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(JwtProviderBenchmark.SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
@@ -0,0 +1,78 @@
+package com.newtab.benchmarks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.newtab.auth.dto.ValidateResponse;
+import com.newtab.auth.repository.RefreshTokenRepository;
+import com.newtab.auth.repository.UserRepository;
+import com.newtab.auth.security.JwtProvider;
+import com.newtab.auth.security.PasswordHasher;
+import com.newtab.auth.security.RevokedTokenDenylist;
+import com.newtab.auth.security.ValidatedTokenCache;
+import com.newtab.auth.service.AuthService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * {@code AuthService.validateToken}, the call behind nginx auth_request, with
+ * the validated-token cache on and off.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ValidateTokenBenchmark {
+
+    @Param({ "true", "false" })
+    public boolean cacheEnabled;
+
+    private AuthService authService;
+    private PasswordHasher passwordHasher;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        JwtProvider jwtProvider = JwtProviderBenchmark.newJwtProvider("HS256");
+        passwordHasher = new PasswordHasher(new BCryptPasswordEncoder(4), 1, 1, Duration.ofSeconds(1), registry);
+        authService = new AuthService(
+                RepositoryStubs.stub(UserRepository.class, Map.of()),
+                jwtProvider,
+                RepositoryStubs.stub(RefreshTokenRepository.class, Map.of()),
+                new ValidatedTokenCache(cacheEnabled, 10_000, registry),
+                passwordHasher,
+                new RevokedTokenDenylist(registry),
+                new TransactionTemplate(),
+                true);
+        accessToken = jwtProvider.generateToken("user@example.com", "registered");
+    }
+
+    @TearDown
+    public void tearDown() {
+        passwordHasher.destroy();
+    }
+
+    @Benchmark
+    public ValidateResponse validateToken() {
+        return authService.validateToken(accessToken);
+    }
+}
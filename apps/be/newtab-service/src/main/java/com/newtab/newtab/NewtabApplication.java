@@ -2,8 +2,10 @@ package com.newtab.newtab;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class NewtabApplication {
     public static void main(String[] args) {
         SpringApplication.run(NewtabApplication.class, args);
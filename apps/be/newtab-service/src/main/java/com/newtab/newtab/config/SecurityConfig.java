@@ -2,26 +2,37 @@ package com.newtab.newtab.config;
 
 import java.util.Arrays;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import com.newtab.newtab.security.HeaderAuthenticationFilter;
+import com.newtab.newtab.security.JwtAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
     private final HeaderAuthenticationFilter headerAuthenticationFilter;
+    private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final boolean localAuth;
 
-    public SecurityConfig(HeaderAuthenticationFilter headerAuthenticationFilter) {
+    public SecurityConfig(HeaderAuthenticationFilter headerAuthenticationFilter,
+            JwtAuthenticationFilter jwtAuthenticationFilter,
+            @Value("${auth.mode:gateway}") String authMode) {
         this.headerAuthenticationFilter = headerAuthenticationFilter;
+        this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.localAuth = "local".equalsIgnoreCase(authMode);
     }
 
     @Bean
@@ -29,20 +40,48 @@ public class SecurityConfig {
         http
                 .csrf(csrf -> csrf.disable())
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
-                .authorizeHttpRequests(auth -> auth
-                        // Health endpoints are public
-                        .requestMatchers("/api/health/**").permitAll()
-                        .requestMatchers("/actuator/health").permitAll()
-                        // Swagger documentation is public
-                        .requestMatchers("/swagger-ui/**").permitAll()
-                        .requestMatchers("/swagger-ui.html").permitAll()
-                        .requestMatchers("/v3/api-docs/**").permitAll()
+                .authorizeHttpRequests(auth -> {
+                    auth
+                            // Health endpoints are public
+                            .requestMatchers("/api/health/**").permitAll()
+                            .requestMatchers("/actuator/health").permitAll()
+                            .requestMatchers("/actuator/prometheus").permitAll()
+                            // Swagger documentation is public
+                            .requestMatchers("/swagger-ui/**").permitAll()
+                            .requestMatchers("/swagger-ui.html").permitAll()
+                            .requestMatchers("/v3/api-docs/**").permitAll();
+                    if (localAuth) {
+                        // Local mode - no gateway in front, every other request needs a valid token
+                        auth.anyRequest().authenticated();
+                    } else {
                         // All other requests - nginx handles auth, we trust the headers
-                        .anyRequest().permitAll())
-                .addFilterBefore(headerAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                        auth.anyRequest().permitAll();
+                    }
+                })
+                .exceptionHandling(ex -> ex.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .addFilterBefore(localAuth ? jwtAuthenticationFilter : headerAuthenticationFilter,
+                        UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
 
+    // Both filters are @Components; keep Boot from also running them as plain servlet
+    // filters so only the one chosen above runs, once, inside the security chain.
+    @Bean
+    public FilterRegistrationBean<HeaderAuthenticationFilter> headerAuthenticationFilterRegistration(
+            HeaderAuthenticationFilter filter) {
+        FilterRegistrationBean<HeaderAuthenticationFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilterRegistration(
+            JwtAuthenticationFilter filter) {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
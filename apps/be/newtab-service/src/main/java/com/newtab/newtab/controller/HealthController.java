@@ -6,6 +6,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -13,8 +14,10 @@ import org.springframework.web.bind.annotation.RestController;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
 
 @RestController
 @RequestMapping("/api/health")
@@ -22,9 +25,15 @@ import java.util.Map;
 public class HealthController {
 
     private final DataSource dataSource;
+    private final long dbCheckTtlMillis;
+    private final ReentrantLock dbCheckLock = new ReentrantLock();
+    private volatile boolean lastDbResult;
+    private volatile long lastDbCheckMillis;
 
-    public HealthController(DataSource dataSource) {
+    public HealthController(DataSource dataSource,
+                            @Value("${health.db-check-ttl:5s}") Duration dbCheckTtl) {
         this.dataSource = dataSource;
+        this.dbCheckTtlMillis = dbCheckTtl.toMillis();
     }
 
     @GetMapping
@@ -98,7 +107,33 @@ public class HealthController {
         return dbReady ? ResponseEntity.ok(response) : ResponseEntity.status(503).body(response);
     }
 
+    /**
+     * Probes the database at most once per {@code health.db-check-ttl}, so
+     * frequent health checks do not compete with requests for pooled
+     * connections. Concurrent probes wait for the one in flight.
+     */
     private boolean checkDatabase() {
+        if (isDbCheckFresh()) {
+            return lastDbResult;
+        }
+        dbCheckLock.lock();
+        try {
+            if (isDbCheckFresh()) {
+                return lastDbResult;
+            }
+            lastDbResult = probeDatabase();
+            lastDbCheckMillis = System.currentTimeMillis();
+            return lastDbResult;
+        } finally {
+            dbCheckLock.unlock();
+        }
+    }
+
+    private boolean isDbCheckFresh() {
+        return lastDbCheckMillis != 0 && System.currentTimeMillis() - lastDbCheckMillis < dbCheckTtlMillis;
+    }
+
+    private boolean probeDatabase() {
         try (Connection connection = dataSource.getConnection()) {
             return connection.isValid(2);
         } catch (Exception e) {
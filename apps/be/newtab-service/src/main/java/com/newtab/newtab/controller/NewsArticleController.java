@@ -1,5 +1,8 @@
 package com.newtab.newtab.controller;
 
+import java.io.InputStream;
+
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,10 +12,18 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.newtab.newtab.dto.BulkIngestResult;
+import com.newtab.newtab.dto.CursorPage;
+import com.newtab.newtab.dto.NewsFeedItem;
+import com.newtab.newtab.dto.NewsSearchResponse;
 import com.newtab.newtab.dto.PageResponse;
 import com.newtab.newtab.entity.NewsArticle;
 import com.newtab.newtab.service.NewsArticleService;
+import com.newtab.newtab.service.NewsFeedSnapshot;
+import com.newtab.newtab.service.NewsIngestService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -27,21 +38,63 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 @Tag(name = "News Articles", description = "News article caching and management")
 public class NewsArticleController {
 
+    private static final int MAX_FEED_PAGE_SIZE = 100;
+
     private final NewsArticleService newsArticleService;
+    private final NewsIngestService newsIngestService;
 
-    public NewsArticleController(NewsArticleService newsArticleService) {
+    public NewsArticleController(NewsArticleService newsArticleService, NewsIngestService newsIngestService) {
         this.newsArticleService = newsArticleService;
+        this.newsIngestService = newsIngestService;
     }
 
     @GetMapping
-    @Operation(summary = "Get recent news with pagination", description = "Retrieves news articles with pagination")
+    @Operation(summary = "Get recent news with pagination", description = "Retrieves recent news as compact cards (description truncated to 280 characters) with pagination. The default first page carries an ETag; send it back in If-None-Match to get 304 when nothing changed.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "News articles retrieved", content = @Content(schema = @Schema(implementation = PageResponse.class)))
+            @ApiResponse(responseCode = "200", description = "News articles retrieved", content = @Content(schema = @Schema(implementation = PageResponse.class))),
+            @ApiResponse(responseCode = "304", description = "First page unchanged since the given ETag")
     })
-    public ResponseEntity<PageResponse<NewsArticle>> getRecentNews(
+    public ResponseEntity<?> getRecentNews(
             @Parameter(description = "Page number (0-indexed)", example = "0") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Page size", example = "20") @RequestParam(defaultValue = "20") int size) {
-        PageResponse<NewsArticle> response = newsArticleService.getRecentNews(page, size);
+            @Parameter(description = "Page size", example = "20") @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest) {
+        // The default first page is served pre-serialized from memory
+        NewsFeedSnapshot.FirstPage snapshot = newsArticleService.getRecentNewsSnapshot(page, size);
+        if (snapshot != null) {
+            // Sets the ETag header; a matching If-None-Match ends the request with 304
+            if (webRequest.checkNotModified(snapshot.etag())) {
+                return null;
+            }
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(snapshot.json());
+        }
+        PageResponse<NewsFeedItem> response = newsArticleService.getRecentNews(page, size);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/feed")
+    @Operation(summary = "Get news feed", description = "Retrieves news articles newest first using cursor pagination. Pass nextCursor from the previous response to get the next page; response time does not depend on how deep the page is.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "News articles retrieved", content = @Content(schema = @Schema(implementation = CursorPage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    public ResponseEntity<CursorPage<NewsArticle>> getFeed(
+            @Parameter(description = "Cursor from the previous page; omit for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-100)", example = "20") @RequestParam(defaultValue = "20") int size) {
+        CursorPage<NewsArticle> response = newsArticleService.getFeed(cursor, Math.max(1, Math.min(size, MAX_FEED_PAGE_SIZE)));
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search news", description = "Full-text search over titles and descriptions, ranked by relevance, with optional category and source filters. Supports web-search syntax: \"quoted phrases\", or, -excluded. Without q, lists the newest articles within news.feed.max-age. Returns article cards and counts per category and source across all matches.")
+    @ApiResponse(responseCode = "200", description = "Search results with facets", content = @Content(schema = @Schema(implementation = NewsSearchResponse.class)))
+    public ResponseEntity<NewsSearchResponse> search(
+            @Parameter(description = "Search text; omit to browse by filters only") @RequestParam(required = false) String q,
+            @Parameter(description = "Category filter", example = "technology") @RequestParam(required = false) String category,
+            @Parameter(description = "Source filter") @RequestParam(required = false) String source,
+            @Parameter(description = "Page number (0-indexed)", example = "0") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (1-100)", example = "20") @RequestParam(defaultValue = "20") int size) {
+        NewsSearchResponse response = newsArticleService.search(q, category, source, Math.max(0, page),
+                Math.max(1, Math.min(size, MAX_FEED_PAGE_SIZE)));
         return ResponseEntity.ok(response);
     }
 
@@ -56,6 +109,15 @@ public class NewsArticleController {
         return ResponseEntity.ok(saved);
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Bulk ingest news articles", description = "Streams newline-delimited JSON, one article per line, and stores them in batches. Streams back one NDJSON result per non-blank input line, {line, status, id?, error?}, flushed after every batch and in completion order, not input order. Status is CREATED (with the new id), DUPLICATE, REJECTED (malformed, missing title/url or publishedAt out of range) or FAILED (batch write error, safe to retry).")
+    @ApiResponse(responseCode = "200", description = "One result per line", content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = BulkIngestResult.class)))
+    public ResponseEntity<StreamingResponseBody> bulkIngest(InputStream body) {
+        StreamingResponseBody results = out -> newsIngestService.ingest(body, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(results);
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete news article", description = "Deletes a news article")
     @ApiResponses(value = {
@@ -11,6 +11,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.newtab.newtab.dto.SponsorRequest;
 import com.newtab.newtab.entity.Sponsor;
@@ -60,9 +61,14 @@ public class SponsorController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all sponsors", description = "Returns list of all active sponsors")
+    @Operation(summary = "Get all sponsors", description = "Returns list of all active sponsors. Supports If-None-Match with the returned ETag.")
     @ApiResponse(responseCode = "200", description = "List of sponsors", content = @Content(schema = @Schema(implementation = Sponsor.class)))
-    public ResponseEntity<List<Sponsor>> getAllSponsors() {
+    @ApiResponse(responseCode = "304", description = "Sponsors unchanged since the given ETag")
+    public ResponseEntity<List<Sponsor>> getAllSponsors(WebRequest webRequest) {
+        String version = sponsorService.getSponsorsVersion();
+        if (version != null && webRequest.checkNotModified(version)) {
+            return null;
+        }
         List<Sponsor> sponsors = sponsorService.getAllSponsors();
         return ResponseEntity.ok(sponsors);
     }
@@ -1,5 +1,7 @@
 package com.newtab.newtab.controller;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -7,6 +9,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.newtab.newtab.dto.UserPreferencesRequest;
 import com.newtab.newtab.entity.UserPreferences;
@@ -33,16 +36,50 @@ public class UserPreferencesController {
     }
 
     @GetMapping("/{userId}")
-    @Operation(summary = "Get user preferences", description = "Retrieves preferences for a specific user, creates defaults if not exist")
+    @Operation(summary = "Get user preferences", description = "Retrieves preferences for a specific user, creates defaults if not exist. Supports If-None-Match with the returned ETag. Changes made through another instance normally invalidate the ETag at once; if that notification is missed, a stale 304 can be returned for up to etag.preferences.ttl (10s by default).")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Preferences retrieved", content = @Content(schema = @Schema(implementation = UserPreferences.class)))
+            @ApiResponse(responseCode = "200", description = "Preferences retrieved", content = @Content(schema = @Schema(implementation = UserPreferences.class))),
+            @ApiResponse(responseCode = "304", description = "Preferences unchanged since the given ETag")
     })
     public ResponseEntity<UserPreferences> getPreferences(
-            @Parameter(description = "User ID", required = true) @PathVariable java.util.UUID userId) {
+            @Parameter(description = "User ID", required = true) @PathVariable java.util.UUID userId,
+            WebRequest webRequest) {
+        // A recently seen ETag answers the conditional request without a query. It is matched by hand so
+        // that checkNotModified runs once below, with the ETag the response actually carries
+        String knownEtag = userPreferencesService.getKnownEtag(userId);
+        if (knownEtag != null && matchesIfNoneMatch(webRequest.getHeaderValues(HttpHeaders.IF_NONE_MATCH), knownEtag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(knownEtag).build();
+        }
         UserPreferences preferences = userPreferencesService.getPreferences(userId);
+        String etag = userPreferencesService.rememberEtag(preferences);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
         return ResponseEntity.ok(preferences);
     }
 
+    private static boolean matchesIfNoneMatch(String[] ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : String.join(",", ifNoneMatch).split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+                tag = tag.substring(1, tag.length() - 1);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @PutMapping
     @Operation(summary = "Update user preferences", description = "Updates preferences for a user, creates if not exist")
     @ApiResponses(value = {
@@ -0,0 +1,41 @@
+package com.newtab.newtab.dto;
+
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one input line of a bulk ingest, written as one NDJSON line of
+ * the response. {@code id} is set for CREATED lines, {@code error} for
+ * REJECTED and FAILED ones.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkIngestResult(long line, Status status, UUID id, String error) {
+
+    public enum Status {
+        /** Stored. */
+        CREATED,
+        /** An article with the same normalized URL is already stored, or appears earlier in the input. */
+        DUPLICATE,
+        /** Malformed JSON or missing required fields; not retried. */
+        REJECTED,
+        /** Valid, but its batch could not be written; safe to retry. */
+        FAILED
+    }
+
+    public static BulkIngestResult created(long line, UUID id) {
+        return new BulkIngestResult(line, Status.CREATED, id, null);
+    }
+
+    public static BulkIngestResult duplicate(long line) {
+        return new BulkIngestResult(line, Status.DUPLICATE, null, null);
+    }
+
+    public static BulkIngestResult rejected(long line, String error) {
+        return new BulkIngestResult(line, Status.REJECTED, null, error);
+    }
+
+    public static BulkIngestResult failed(long line, String error) {
+        return new BulkIngestResult(line, Status.FAILED, null, error);
+    }
+}
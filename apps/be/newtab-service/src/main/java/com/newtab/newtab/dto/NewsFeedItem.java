@@ -0,0 +1,31 @@
+package com.newtab.newtab.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only card view of a news article for the recent-news listing. Built
+ * straight from a JPQL constructor expression, so no entity is loaded or
+ * dirty-checked. The description is cut to {@link #MAX_DESCRIPTION_LENGTH}
+ * characters; the query fetches one character more so truncation can be
+ * marked with an ellipsis.
+ */
+public record NewsFeedItem(
+        UUID id,
+        String title,
+        String description,
+        String url,
+        String source,
+        String imageUrl,
+        String category,
+        LocalDateTime publishedAt,
+        LocalDateTime createdAt) {
+
+    public static final int MAX_DESCRIPTION_LENGTH = 280;
+
+    public NewsFeedItem {
+        if (description != null && description.length() > MAX_DESCRIPTION_LENGTH) {
+            description = description.substring(0, MAX_DESCRIPTION_LENGTH - 1).stripTrailing() + "…";
+        }
+    }
+}
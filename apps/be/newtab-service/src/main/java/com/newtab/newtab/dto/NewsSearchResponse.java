@@ -0,0 +1,67 @@
+package com.newtab.newtab.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ranked search results as {@link NewsFeedItem} cards, with facet counts.
+ * Facets are computed over every match, not just the returned page:
+ * {@code facets.category} and {@code facets.source} map each value to its
+ * number of matching articles, largest first.
+ */
+public class NewsSearchResponse {
+    private List<NewsFeedItem> content;
+    private int currentPage;
+    private int pageSize;
+    private boolean hasNext;
+    private Map<String, Map<String, Long>> facets;
+
+    public NewsSearchResponse(List<NewsFeedItem> content, int currentPage, int pageSize, boolean hasNext,
+            Map<String, Map<String, Long>> facets) {
+        this.content = content;
+        this.currentPage = currentPage;
+        this.pageSize = pageSize;
+        this.hasNext = hasNext;
+        this.facets = facets;
+    }
+
+    public List<NewsFeedItem> getContent() {
+        return content;
+    }
+
+    public void setContent(List<NewsFeedItem> content) {
+        this.content = content;
+    }
+
+    public int getCurrentPage() {
+        return currentPage;
+    }
+
+    public void setCurrentPage(int currentPage) {
+        this.currentPage = currentPage;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public Map<String, Map<String, Long>> getFacets() {
+        return facets;
+    }
+
+    public void setFacets(Map<String, Map<String, Long>> facets) {
+        this.facets = facets;
+    }
+}
@@ -3,6 +3,8 @@ package com.newtab.newtab.entity;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -28,6 +30,11 @@ public class NewsArticle {
     @Column(nullable = false)
     private String url;
 
+    /** SHA-256 of the normalized URL; unique, so each article is stored once. */
+    @JsonIgnore
+    @Column(name = "url_hash", nullable = false, length = 64)
+    private String urlHash;
+
     @Column
     private String source;
 
@@ -37,7 +44,7 @@ public class NewsArticle {
     @Column
     private String category;
 
-    @Column(name = "published_at")
+    @Column(name = "published_at", nullable = false)
     private LocalDateTime publishedAt;
 
     @Column(name = "created_at")
@@ -80,6 +87,14 @@ public class NewsArticle {
         this.url = url;
     }
 
+    public String getUrlHash() {
+        return urlHash;
+    }
+
+    public void setUrlHash(String urlHash) {
+        this.urlHash = urlHash;
+    }
+
     public String getSource() {
         return source;
     }
@@ -1,15 +1,127 @@
 package com.newtab.newtab.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.newtab.newtab.dto.NewsFeedItem;
 import com.newtab.newtab.entity.NewsArticle;
 
 @Repository
 public interface NewsArticleRepository extends JpaRepository<NewsArticle, UUID> {
-    Page<NewsArticle> findAllByOrderByPublishedAtDesc(Pageable pageable);
+    /**
+     * Recent articles as {@link NewsFeedItem} cards; sort by
+     * {@code publishedAt} through the pageable. The lower bound lets Postgres
+     * prune the page and its count query to the newest partitions, and only
+     * the first characters of each description leave the database.
+     */
+    @Query(value = "SELECT new com.newtab.newtab.dto.NewsFeedItem(a.id, a.title, "
+            + "substring(a.description, 1, " + (NewsFeedItem.MAX_DESCRIPTION_LENGTH + 1) + "), "
+            + "a.url, a.source, a.imageUrl, a.category, a.publishedAt, a.createdAt) "
+            + "FROM NewsArticle a WHERE a.publishedAt >= :since",
+            countQuery = "SELECT count(a) FROM NewsArticle a WHERE a.publishedAt >= :since")
+    Page<NewsFeedItem> findFeedItemsSince(@Param("since") LocalDateTime since, Pageable pageable);
+
+    /**
+     * First page of the keyset feed, limited to articles published since
+     * {@code since}.
+     */
+    @Query(value = "SELECT * FROM news_articles WHERE published_at >= :since "
+            + "ORDER BY published_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<NewsArticle> findFeedFirstPage(@Param("since") LocalDateTime since, @Param("limit") int limit);
+
+    /**
+     * Articles strictly after the cursor in feed order. The row comparison
+     * seeks directly into idx_news_published, so the cost does not grow with
+     * how far the client has scrolled.
+     */
+    @Query(value = "SELECT * FROM news_articles WHERE (published_at, id) < (:publishedAt, :id) "
+            + "AND published_at >= :since "
+            + "ORDER BY published_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<NewsArticle> findFeedAfter(@Param("publishedAt") LocalDateTime publishedAt, @Param("id") UUID id,
+            @Param("since") LocalDateTime since, @Param("limit") int limit);
+
+    /**
+     * Ids of the full-text matches for a web-search style query ("quoted
+     * phrases", OR, -exclusions), ranked by relevance and then recency.
+     * Category and source filters are optional (null = any). Load the cards
+     * with {@link #findFeedItemsByIds}.
+     */
+    @Query(value = "SELECT a.id FROM news_articles a, websearch_to_tsquery('english', :query) q "
+            + "WHERE a.search_vector @@ q "
+            + "AND (CAST(:category AS varchar) IS NULL OR a.category = :category) "
+            + "AND (CAST(:source AS varchar) IS NULL OR a.source = :source) "
+            + "ORDER BY ts_rank_cd(a.search_vector, q) DESC, a.published_at DESC, a.id DESC "
+            + "LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<UUID> searchIds(@Param("query") String query, @Param("category") String category,
+            @Param("source") String source, @Param("limit") int limit, @Param("offset") long offset);
+
+    /**
+     * Per-category and per-source counts over all matches of {@link #searchIds}.
+     * Each row carries either a category or a source, never both.
+     */
+    @Query(value = "SELECT a.category AS category, a.source AS source, count(*) AS count "
+            + "FROM news_articles a, websearch_to_tsquery('english', :query) q "
+            + "WHERE a.search_vector @@ q "
+            + "AND (CAST(:category AS varchar) IS NULL OR a.category = :category) "
+            + "AND (CAST(:source AS varchar) IS NULL OR a.source = :source) "
+            + "GROUP BY GROUPING SETS ((a.category), (a.source)) "
+            + "ORDER BY 3 DESC", nativeQuery = true)
+    List<FacetRow> searchFacets(@Param("query") String query, @Param("category") String category,
+            @Param("source") String source);
+
+    /**
+     * Cards for the given ids, in no particular order.
+     */
+    @Query("SELECT new com.newtab.newtab.dto.NewsFeedItem(a.id, a.title, "
+            + "substring(a.description, 1, " + (NewsFeedItem.MAX_DESCRIPTION_LENGTH + 1) + "), "
+            + "a.url, a.source, a.imageUrl, a.category, a.publishedAt, a.createdAt) "
+            + "FROM NewsArticle a WHERE a.id IN :ids")
+    List<NewsFeedItem> findFeedItemsByIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Newest articles in a category and/or source published since
+     * {@code since}, for searches without text. The order matches
+     * idx_news_published and the bound prunes old partitions; the slice reads
+     * one row past the page instead of counting.
+     */
+    @Query("SELECT new com.newtab.newtab.dto.NewsFeedItem(a.id, a.title, "
+            + "substring(a.description, 1, " + (NewsFeedItem.MAX_DESCRIPTION_LENGTH + 1) + "), "
+            + "a.url, a.source, a.imageUrl, a.category, a.publishedAt, a.createdAt) "
+            + "FROM NewsArticle a WHERE a.publishedAt >= :since "
+            + "AND (:category IS NULL OR a.category = :category) "
+            + "AND (:source IS NULL OR a.source = :source) "
+            + "ORDER BY a.publishedAt DESC, a.id DESC")
+    Slice<NewsFeedItem> browse(@Param("since") LocalDateTime since, @Param("category") String category,
+            @Param("source") String source, Pageable pageable);
+
+    /**
+     * Facet counts for {@link #browse}, over the same time window.
+     */
+    @Query(value = "SELECT a.category AS category, a.source AS source, count(*) AS count "
+            + "FROM news_articles a "
+            + "WHERE a.published_at >= :since "
+            + "AND (CAST(:category AS varchar) IS NULL OR a.category = :category) "
+            + "AND (CAST(:source AS varchar) IS NULL OR a.source = :source) "
+            + "GROUP BY GROUPING SETS ((a.category), (a.source)) "
+            + "ORDER BY 3 DESC", nativeQuery = true)
+    List<FacetRow> browseFacets(@Param("since") LocalDateTime since, @Param("category") String category,
+            @Param("source") String source);
+
+    interface FacetRow {
+        String getCategory();
+
+        String getSource();
+
+        long getCount();
+    }
 }
@@ -0,0 +1,196 @@
+package com.newtab.newtab.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.newtab.newtab.entity.NewsArticle;
+
+/**
+ * Article writes keyed by {@code url_hash}, which Spring Data's {@code save}
+ * cannot express. Callers must set {@code id} and {@code urlHash} before
+ * writing; a missing {@code publishedAt} is stored as the time of the write.
+ * <p>
+ * URL uniqueness lives in {@code news_url_hashes}: the partitioned article
+ * table can only enforce (url_hash, published_at). Every insert claims its
+ * hash there first, in the same transaction, so a URL is stored once no
+ * matter which instance or request writes it.
+ */
+@Repository
+public class NewsArticleWriteRepository {
+
+    private static final String INSERT_PREFIX = "INSERT INTO news_articles "
+            + "(id, title, description, url, url_hash, source, image_url, category, published_at, created_at) VALUES ";
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int COLUMNS = 10;
+    // PostgreSQL's wire protocol carries at most 65535 bind parameters per statement
+    private static final int MAX_BIND_PARAMETERS = 65_535;
+
+    /** Most articles one {@link #insertNew(List)} call can write in a single statement. */
+    public static final int MAX_BATCH_SIZE = MAX_BIND_PARAMETERS / COLUMNS;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NewsArticleWriteRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts the article, or refreshes the stored one with the same URL. The
+     * stored row keeps its id and creation time, and its publish time unless
+     * a new one is given. Returns the id of the stored row.
+     */
+    @Transactional
+    public UUID upsert(NewsArticle article) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime requestedPublishedAt = article.getPublishedAt();
+        if (requestedPublishedAt == null) {
+            article.setPublishedAt(now);
+        }
+        if (claim(List.of(article)).isEmpty()) {
+            // Known URL; the claim waited for any concurrent writer, so its article is visible
+            List<UUID> updated = jdbcTemplate.queryForList("""
+                    UPDATE news_articles SET
+                        title = ?, description = ?, url = ?, source = ?, image_url = ?, category = ?,
+                        published_at = COALESCE(?, published_at)
+                    WHERE url_hash = ?
+                    RETURNING id""", UUID.class,
+                    article.getTitle(), article.getDescription(), article.getUrl(), article.getSource(),
+                    article.getImageUrl(), article.getCategory(), requestedPublishedAt, article.getUrlHash());
+            if (!updated.isEmpty()) {
+                jdbcTemplate.update("UPDATE news_url_hashes SET published_at = COALESCE(?, published_at) "
+                        + "WHERE url_hash = ?", requestedPublishedAt, article.getUrlHash());
+                return updated.get(0);
+            }
+            // The hash outlived its article (retention purge in progress); store the article again
+            jdbcTemplate.update("UPDATE news_url_hashes SET published_at = ? WHERE url_hash = ?",
+                    article.getPublishedAt(), article.getUrlHash());
+        }
+        insertRows(List.of(article), now);
+        return article.getId();
+    }
+
+    /**
+     * Inserts the articles whose URL is not stored yet, with one multi-row
+     * claim and one multi-row insert. Returns the url hashes that were
+     * inserted. At most {@link #MAX_BATCH_SIZE} articles per call.
+     */
+    @Transactional
+    public Set<String> insertNew(List<NewsArticle> articles) {
+        if (articles.isEmpty()) {
+            return Set.of();
+        }
+        if (articles.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " articles per insert, got "
+                    + articles.size());
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (NewsArticle article : articles) {
+            if (article.getPublishedAt() == null) {
+                article.setPublishedAt(now);
+            }
+        }
+        Set<String> claimed = claim(articles);
+        List<NewsArticle> toInsert = articles.stream()
+                .filter(article -> claimed.contains(article.getUrlHash()))
+                .toList();
+        insertRows(toInsert, now);
+        return claimed;
+    }
+
+    /**
+     * Deletes the article and releases its URL.
+     */
+    public void delete(UUID id) {
+        jdbcTemplate.update("""
+                WITH deleted AS (DELETE FROM news_articles WHERE id = ? RETURNING url_hash)
+                DELETE FROM news_url_hashes WHERE url_hash IN (SELECT url_hash FROM deleted)""", id);
+    }
+
+    /**
+     * Returns the subset of the given url hashes that are already stored, in
+     * one round trip.
+     */
+    public Set<String> findExistingHashes(Collection<String> urlHashes) {
+        if (urlHashes.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT url_hash FROM news_url_hashes WHERE url_hash = ANY (?)",
+                String.class, (Object) urlHashes.toArray(new String[0])));
+    }
+
+    /**
+     * Streams every stored url hash to the consumer. Must run inside a
+     * transaction for the fetch size to take effect, otherwise the driver
+     * buffers the whole result.
+     */
+    public void forEachUrlHash(Consumer<String> consumer) {
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement("SELECT url_hash FROM news_url_hashes");
+            statement.setFetchSize(10_000);
+            return statement;
+        }, row -> {
+            consumer.accept(row.getString(1));
+        });
+    }
+
+    /**
+     * Registers the url hashes of the articles, skipping those already taken.
+     * Returns the hashes this call registered. Blocks on hashes that a
+     * concurrent transaction has claimed but not yet committed; rows are
+     * claimed in hash order so two overlapping batches wait on each other
+     * instead of deadlocking.
+     */
+    private Set<String> claim(List<NewsArticle> articles) {
+        articles = articles.stream()
+                .sorted(Comparator.comparing(NewsArticle::getUrlHash))
+                .toList();
+        StringBuilder sql = new StringBuilder("INSERT INTO news_url_hashes (url_hash, published_at) VALUES ");
+        Object[] args = new Object[articles.size() * 2];
+        for (int i = 0; i < articles.size(); i++) {
+            sql.append(i == 0 ? "(?, ?)" : ", (?, ?)");
+            args[i * 2] = articles.get(i).getUrlHash();
+            args[i * 2 + 1] = articles.get(i).getPublishedAt();
+        }
+        sql.append(" ON CONFLICT (url_hash) DO NOTHING RETURNING url_hash");
+        return new HashSet<>(jdbcTemplate.queryForList(sql.toString(), String.class, args));
+    }
+
+    private void insertRows(List<NewsArticle> articles, LocalDateTime now) {
+        if (articles.isEmpty()) {
+            return;
+        }
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+        Object[] args = new Object[articles.size() * COLUMNS];
+        for (int i = 0; i < articles.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append(ROW_PLACEHOLDERS);
+            System.arraycopy(rowValues(articles.get(i), now), 0, args, i * COLUMNS, COLUMNS);
+        }
+        jdbcTemplate.update(sql.toString(), args);
+    }
+
+    private static Object[] rowValues(NewsArticle article, LocalDateTime now) {
+        return new Object[] {
+                article.getId(),
+                article.getTitle(),
+                article.getDescription(),
+                article.getUrl(),
+                article.getUrlHash(),
+                article.getSource(),
+                article.getImageUrl(),
+                article.getCategory(),
+                article.getPublishedAt(),
+                now
+        };
+    }
+}
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.newtab.newtab.entity.Sponsor;
@@ -11,4 +12,12 @@ import com.newtab.newtab.entity.Sponsor;
 @Repository
 public interface SponsorRepository extends JpaRepository<Sponsor, UUID> {
     List<Sponsor> findByIsActiveTrue();
+
+    /**
+     * Changes whenever a sponsor is added, removed or updated: the row count
+     * plus the latest updated_at.
+     */
+    @Query(value = "SELECT count(*) || '-' || coalesce(to_char(max(updated_at), 'YYYYMMDDHH24MISSUS'), '0') "
+            + "FROM sponsors", nativeQuery = true)
+    String contentVersion();
 }
@@ -0,0 +1,98 @@
+package com.newtab.newtab.security;
+
+import java.security.Key;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+
+/**
+ * Local copy of the public keys that auth-service publishes at
+ * {@code /api/auth/jwks}. The set is fetched at startup and refreshed in the
+ * background. A token with an unknown key id triggers an early refresh, at
+ * most once per {@link #MIN_FORCED_REFRESH_INTERVAL}, so a key rotation is
+ * picked up without a per-request call. Disabled when {@code jwt.jwks-uri} is
+ * empty.
+ */
+@Component
+public class JwksKeyCache {
+
+    private static final Logger log = LoggerFactory.getLogger(JwksKeyCache.class);
+    private static final Duration MIN_FORCED_REFRESH_INTERVAL = Duration.ofSeconds(30);
+
+    private final String jwksUri;
+    private final RestClient restClient;
+    private volatile Map<String, Key> keys = Map.of();
+    private volatile long lastForcedRefreshMillis;
+    // A lock rather than synchronized: the fetch blocks on network I/O, which
+    // would pin the carrier thread when called from a virtual thread
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    public JwksKeyCache(@Value("${jwt.jwks-uri:}") String jwksUri) {
+        this.jwksUri = jwksUri;
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(Duration.ofSeconds(2));
+        requestFactory.setReadTimeout(Duration.ofSeconds(2));
+        this.restClient = RestClient.builder().requestFactory(requestFactory).build();
+        refresh();
+    }
+
+    public boolean isEnabled() {
+        return !jwksUri.isBlank();
+    }
+
+    /**
+     * Returns the public key with the given id, or null if auth-service does
+     * not publish it.
+     */
+    public Key find(String keyId) {
+        if (!isEnabled() || keyId == null) {
+            return null;
+        }
+        Key key = keys.get(keyId);
+        if (key == null && System.currentTimeMillis() - lastForcedRefreshMillis > MIN_FORCED_REFRESH_INTERVAL.toMillis()) {
+            lastForcedRefreshMillis = System.currentTimeMillis();
+            refresh();
+            key = keys.get(keyId);
+        }
+        return key;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.jwks-refresh-interval:PT5M}",
+            initialDelayString = "${jwt.jwks-refresh-interval:PT5M}")
+    public void refresh() {
+        if (!isEnabled()) {
+            return;
+        }
+        refreshLock.lock();
+        try {
+            String json = restClient.get().uri(jwksUri).retrieve().body(String.class);
+            JwkSet jwkSet = Jwks.setParser().build().parse(json);
+            Map<String, Key> fetched = new HashMap<>();
+            for (Jwk<?> jwk : jwkSet.getKeys()) {
+                if (jwk.getId() != null) {
+                    fetched.put(jwk.getId(), jwk.toKey());
+                }
+            }
+            keys = Map.copyOf(fetched);
+            log.debug("Loaded {} key(s) from {}", fetched.size(), jwksUri);
+        } catch (RuntimeException ex) {
+            // Keep serving the last known keys; the next refresh retries
+            log.warn("Failed to refresh JWKS from {}: {}", jwksUri, ex.getMessage());
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+}
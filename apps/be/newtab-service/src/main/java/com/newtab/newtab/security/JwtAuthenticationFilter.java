@@ -14,6 +14,11 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.util.Collections;
 
+/**
+ * Authentication filter that verifies the Bearer token inside this service.
+ * Used when {@code auth.mode=local}, where nginx forwards requests without an
+ * auth_request round trip to auth-service.
+ */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
@@ -32,9 +37,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             String token = authorizationHeader.substring(7);
 
-            if (jwtProvider.validateToken(token)) {
-                String email = jwtProvider.getEmailFromToken(token);
-                String userType = jwtProvider.getUserTypeFromToken(token);
+            TokenClaims claims = jwtProvider.parseToken(token).orElse(null);
+            // Refresh tokens are only good for /api/auth/refresh, never as access tokens
+            if (claims != null && !claims.isRefreshToken()) {
+                String email = claims.email();
+                String userType = claims.userType();
 
                 // Store both email and userType in the authentication principal
                 UserPrincipal principal = new UserPrincipal(email, userType);
@@ -1,50 +1,32 @@
 package com.newtab.newtab.security;
 
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.util.Date;
+import java.util.Optional;
 
 @Component
 public class JwtProvider {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private final TokenVerifier tokenVerifier;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    public JwtProvider(TokenVerifier tokenVerifier) {
+        this.tokenVerifier = tokenVerifier;
     }
 
-    public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.getSubject();
-    }
-
-    public String getUserTypeFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.get("userType", String.class);
-    }
-
-    public boolean validateToken(String token) {
+    /**
+     * Verifies the token once and returns all of its claims, or empty if the
+     * token is malformed, expired or not signed with our key.
+     */
+    public Optional<TokenClaims> parseToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            return Optional.of(tokenVerifier.parse(token));
         } catch (JwtException | IllegalArgumentException ex) {
-            return false;
+            return Optional.empty();
         }
     }
+
+    public boolean validateToken(String token) {
+        return parseToken(token).isPresent();
+    }
 }
@@ -0,0 +1,13 @@
+package com.newtab.newtab.security;
+
+import java.time.Instant;
+
+/**
+ * Immutable view of the claims carried by a verified JWT.
+ */
+public record TokenClaims(String email, String userType, String type, Instant expiresAt) {
+
+    public boolean isRefreshToken() {
+        return "refresh".equals(type);
+    }
+}
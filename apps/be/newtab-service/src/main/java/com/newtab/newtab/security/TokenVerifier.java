@@ -0,0 +1,84 @@
+package com.newtab.newtab.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Verifies signed JWTs with a parser that is built once at startup. HMAC
+ * tokens are checked against the shared secret. ES256/EdDSA tokens are checked
+ * against the auth-service public key named by their key id, taken from
+ * {@link JwksKeyCache}. Every call is timed under the {@code jwt.verify}
+ * metric, tagged by outcome.
+ */
+@Component
+public class TokenVerifier {
+
+    private final JwtParser parser;
+    private final Timer validTimer;
+    private final Timer invalidTimer;
+
+    public TokenVerifier(@Value("${jwt.secret}") String jwtSecret, JwksKeyCache jwksKeyCache,
+            MeterRegistry meterRegistry) {
+        SecretKey secretKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        String algorithm = header.getAlgorithm();
+                        if (algorithm != null && algorithm.startsWith("HS")) {
+                            return secretKey;
+                        }
+                        return jwksKeyCache.find(header.getKeyId());
+                    }
+                })
+                .build();
+        this.validTimer = Timer.builder("jwt.verify")
+                .description("Time spent verifying JWT signatures and parsing claims")
+                .tag("outcome", "valid")
+                .register(meterRegistry);
+        this.invalidTimer = Timer.builder("jwt.verify")
+                .description("Time spent verifying JWT signatures and parsing claims")
+                .tag("outcome", "invalid")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Verifies the token signature and expiry and returns its claims.
+     *
+     * @throws JwtException             if the token is malformed, expired or
+     *                                  carries an invalid signature
+     * @throws IllegalArgumentException if the token is null or blank
+     */
+    public TokenClaims parse(String token) {
+        long start = System.nanoTime();
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            TokenClaims result = new TokenClaims(
+                    claims.getSubject(),
+                    claims.get("userType", String.class),
+                    claims.get("type", String.class),
+                    claims.getExpiration().toInstant());
+            validTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (JwtException | IllegalArgumentException ex) {
+            invalidTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+    }
+}
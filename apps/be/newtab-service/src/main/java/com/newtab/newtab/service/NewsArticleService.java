@@ -1,27 +1,69 @@
 package com.newtab.newtab.service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.newtab.newtab.dto.CursorPage;
+import com.newtab.newtab.dto.NewsFeedItem;
+import com.newtab.newtab.dto.NewsSearchResponse;
 import com.newtab.newtab.dto.PageResponse;
 import com.newtab.newtab.entity.NewsArticle;
 import com.newtab.newtab.repository.NewsArticleRepository;
+import com.newtab.newtab.repository.NewsArticleWriteRepository;
 
 @Service
 public class NewsArticleService {
 
+    private static final int MAX_FACET_VALUES = 20;
+
     private final NewsArticleRepository newsArticleRepository;
+    private final NewsArticleWriteRepository newsArticleWriteRepository;
+    private final NewsUrlBloomFilter newsUrlBloomFilter;
+    private final NewsFeedSnapshot newsFeedSnapshot;
+    private final NewsPartitionMaintenance newsPartitionMaintenance;
+    private final Duration feedMaxAge;
 
-    public NewsArticleService(NewsArticleRepository newsArticleRepository) {
+    public NewsArticleService(NewsArticleRepository newsArticleRepository,
+            NewsArticleWriteRepository newsArticleWriteRepository, NewsUrlBloomFilter newsUrlBloomFilter,
+            NewsFeedSnapshot newsFeedSnapshot, NewsPartitionMaintenance newsPartitionMaintenance,
+            @Value("${news.feed.max-age:30d}") Duration feedMaxAge) {
         this.newsArticleRepository = newsArticleRepository;
+        this.newsArticleWriteRepository = newsArticleWriteRepository;
+        this.newsUrlBloomFilter = newsUrlBloomFilter;
+        this.newsFeedSnapshot = newsFeedSnapshot;
+        this.newsPartitionMaintenance = newsPartitionMaintenance;
+        this.feedMaxAge = feedMaxAge;
     }
 
-    public PageResponse<NewsArticle> getRecentNews(int page, int size) {
+    /**
+     * Serialized first page from the in-memory snapshot, or null when the
+     * request is for another page or size and must go to the database.
+     */
+    public NewsFeedSnapshot.FirstPage getRecentNewsSnapshot(int page, int size) {
+        return newsFeedSnapshot.firstPage(page, size);
+    }
+
+    @Transactional(readOnly = true)
+    public PageResponse<NewsFeedItem> getRecentNews(int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("publishedAt").descending());
-        Page<NewsArticle> resultPage = newsArticleRepository.findAllByOrderByPublishedAtDesc(pageable);
+        Page<NewsFeedItem> resultPage = newsArticleRepository.findFeedItemsSince(feedSince(), pageable);
 
         return new PageResponse<>(
                 resultPage.getContent(),
@@ -31,11 +73,117 @@ public class NewsArticleService {
                 resultPage.getTotalPages());
     }
 
+    /**
+     * Cursor-paginated feed ordered by (publishedAt, id), newest first. Reads
+     * one row past the page to tell whether another page exists, so no count
+     * query is needed.
+     */
+    public CursorPage<NewsArticle> getFeed(String cursor, int size) {
+        List<NewsArticle> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = newsArticleRepository.findFeedFirstPage(feedSince(), size + 1);
+        } else {
+            NewsFeedCursor after = decodeCursor(cursor);
+            rows = newsArticleRepository.findFeedAfter(after.publishedAt(), after.id(), feedSince(), size + 1);
+        }
+
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<NewsArticle> page = rows.subList(0, size);
+        NewsArticle last = page.get(size - 1);
+        return new CursorPage<>(page, new NewsFeedCursor(last.getPublishedAt(), last.getId()).encode());
+    }
+
+    private LocalDateTime feedSince() {
+        return LocalDateTime.now().minus(feedMaxAge);
+    }
+
+    private static NewsFeedCursor decodeCursor(String cursor) {
+        try {
+            return NewsFeedCursor.decode(cursor);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor", ex);
+        }
+    }
+
+    /**
+     * Ranked full-text search with optional category/source filters and facet
+     * counts. Without query text, returns the newest articles within
+     * {@code news.feed.max-age} matching the filters, with facets over the
+     * same window.
+     */
+    @Transactional(readOnly = true)
+    public NewsSearchResponse search(String query, String category, String source, int page, int size) {
+        String text = blankToNull(query);
+        String categoryFilter = blankToNull(category);
+        String sourceFilter = blankToNull(source);
+
+        if (text == null) {
+            LocalDateTime since = feedSince();
+            Slice<NewsFeedItem> slice = newsArticleRepository.browse(since, categoryFilter, sourceFilter,
+                    PageRequest.of(page, size));
+            return new NewsSearchResponse(slice.getContent(), page, size, slice.hasNext(),
+                    toFacets(newsArticleRepository.browseFacets(since, categoryFilter, sourceFilter)));
+        }
+
+        List<UUID> ids = newsArticleRepository.searchIds(text, categoryFilter, sourceFilter, size + 1,
+                (long) page * size);
+        boolean hasNext = ids.size() > size;
+        List<UUID> pageIds = hasNext ? ids.subList(0, size) : ids;
+        // The card query returns rows in any order; put them back in rank order
+        Map<UUID, NewsFeedItem> cards = new HashMap<>();
+        for (NewsFeedItem item : newsArticleRepository.findFeedItemsByIds(pageIds)) {
+            cards.put(item.id(), item);
+        }
+        List<NewsFeedItem> content = pageIds.stream().map(cards::get).filter(Objects::nonNull).toList();
+        return new NewsSearchResponse(content, page, size, hasNext,
+                toFacets(newsArticleRepository.searchFacets(text, categoryFilter, sourceFilter)));
+    }
+
+    private static Map<String, Map<String, Long>> toFacets(List<NewsArticleRepository.FacetRow> rows) {
+        Map<String, Long> categories = new LinkedHashMap<>();
+        Map<String, Long> sources = new LinkedHashMap<>();
+        // Rows arrive largest count first; articles without a category/source are not faceted
+        for (NewsArticleRepository.FacetRow row : rows) {
+            if (row.getCategory() != null && categories.size() < MAX_FACET_VALUES) {
+                categories.put(row.getCategory(), row.getCount());
+            } else if (row.getSource() != null && sources.size() < MAX_FACET_VALUES) {
+                sources.put(row.getSource(), row.getCount());
+            }
+        }
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        facets.put("category", categories);
+        facets.put("source", sources);
+        return facets;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    /**
+     * Stores the article, or refreshes the stored article with the same
+     * normalized URL, which keeps its id.
+     */
     public NewsArticle saveArticle(NewsArticle article) {
-        return newsArticleRepository.save(article);
+        LocalDateTime publishedAt = article.getPublishedAt();
+        if (publishedAt != null && publishedAt.isBefore(newsPartitionMaintenance.retainedSince())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "publishedAt is older than the retention window");
+        }
+        if (publishedAt != null && !publishedAt.isBefore(newsPartitionMaintenance.acceptedUntil())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "publishedAt is too far in the future");
+        }
+        article.setId(UUID.randomUUID());
+        article.setUrlHash(NewsUrlNormalizer.hash(article.getUrl()));
+        UUID id = newsArticleWriteRepository.upsert(article);
+        newsUrlBloomFilter.put(article.getUrlHash());
+        newsFeedSnapshot.requestRebuild();
+        return newsArticleRepository.findById(id).orElseThrow();
     }
 
-    public void deleteArticle(java.util.UUID id) {
-        newsArticleRepository.deleteById(id);
+    public void deleteArticle(UUID id) {
+        newsArticleWriteRepository.delete(id);
+        newsFeedSnapshot.requestRebuild();
     }
 }
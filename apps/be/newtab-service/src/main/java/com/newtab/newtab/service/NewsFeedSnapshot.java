@@ -0,0 +1,138 @@
+package com.newtab.newtab.service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.newtab.newtab.dto.NewsFeedItem;
+import com.newtab.newtab.dto.PageResponse;
+import com.newtab.newtab.repository.NewsArticleRepository;
+
+/**
+ * The first page of {@code GET /api/news}, already serialized to JSON. Every
+ * user gets the same first page, so it is built once and served from memory.
+ * <p>
+ * The snapshot is immutable and swapped atomically. Its ETag is a digest of
+ * the serialized bytes, so every instance that holds the same page hands out
+ * the same ETag. Writes through this instance call {@link #requestRebuild()},
+ * which rebuilds in the background and folds a burst of writes into one
+ * rebuild, so writers never wait on it. A fixed-interval rebuild picks up
+ * writes made by other instances.
+ */
+@Component
+public class NewsFeedSnapshot implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(NewsFeedSnapshot.class);
+
+    private final NewsArticleRepository newsArticleRepository;
+    private final ObjectMapper objectMapper;
+    private final int pageSize;
+    private final Duration feedMaxAge;
+    private final AtomicReference<FirstPage> firstPage = new AtomicReference<>();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "news-snapshot-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public NewsFeedSnapshot(NewsArticleRepository newsArticleRepository, ObjectMapper objectMapper,
+            @Value("${news.snapshot.page-size:20}") int pageSize,
+            @Value("${news.feed.max-age:30d}") Duration feedMaxAge) {
+        this.newsArticleRepository = newsArticleRepository;
+        this.objectMapper = objectMapper;
+        this.pageSize = pageSize;
+        this.feedMaxAge = feedMaxAge;
+    }
+
+    /**
+     * Returns the serialized first page if the request matches the snapshot,
+     * or null if the caller should query the database.
+     */
+    public FirstPage firstPage(int page, int size) {
+        if (page != 0 || size != pageSize) {
+            return null;
+        }
+        return firstPage.get();
+    }
+
+    /**
+     * Schedules a background rebuild and returns at once. Requests that arrive
+     * before the rebuild starts are served by that one rebuild.
+     */
+    public void requestRebuild() {
+        if (rebuildRequested.compareAndSet(false, true)) {
+            rebuildExecutor.execute(() -> {
+                // Cleared before reading, so a write that lands during the rebuild schedules another
+                rebuildRequested.set(false);
+                rebuild();
+            });
+        }
+    }
+
+    @Override
+    public void destroy() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${news.snapshot.refresh-interval:PT1M}",
+            initialDelayString = "${news.snapshot.refresh-interval:PT1M}")
+    public void rebuild() {
+        // Serialized so a slower rebuild cannot overwrite a newer one
+        rebuildLock.lock();
+        try {
+            Page<NewsFeedItem> page = newsArticleRepository.findFeedItemsSince(
+                    LocalDateTime.now().minus(feedMaxAge),
+                    PageRequest.of(0, pageSize, Sort.by("publishedAt").descending()));
+            PageResponse<NewsFeedItem> response = new PageResponse<>(
+                    page.getContent(),
+                    page.getNumber(),
+                    page.getSize(),
+                    page.getTotalElements(),
+                    page.getTotalPages());
+            byte[] json = objectMapper.writeValueAsBytes(response);
+            firstPage.set(new FirstPage(json, etagOf(json)));
+        } catch (JsonProcessingException | RuntimeException ex) {
+            // Drop the snapshot rather than serve a stale one; reads fall back to the database
+            firstPage.set(null);
+            log.warn("Failed to rebuild news snapshot: {}", ex.getMessage());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private static String etagOf(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    public record FirstPage(byte[] json, String etag) {
+    }
+}
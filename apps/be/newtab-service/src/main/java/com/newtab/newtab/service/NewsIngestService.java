@@ -0,0 +1,243 @@
+package com.newtab.newtab.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.newtab.newtab.dto.BulkIngestResult;
+import com.newtab.newtab.dto.BulkIngestResult.Status;
+import com.newtab.newtab.entity.NewsArticle;
+import com.newtab.newtab.repository.NewsArticleWriteRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Bulk news ingestion from NDJSON (one article per line). The body is read
+ * line by line, and one NDJSON result per input line is written to the
+ * response as soon as it is known, flushed after every batch. Memory use is
+ * therefore bounded by the batch size rather than the request size. Each
+ * batch is written as one multi-row insert that skips URLs already stored; a
+ * failing batch marks only its own items as failed.
+ */
+@Service
+public class NewsIngestService {
+
+    private static final Logger log = LoggerFactory.getLogger(NewsIngestService.class);
+
+    private final NewsArticleWriteRepository newsArticleWriteRepository;
+    private final NewsUrlBloomFilter newsUrlBloomFilter;
+    private final NewsFeedSnapshot newsFeedSnapshot;
+    private final NewsPartitionMaintenance newsPartitionMaintenance;
+    private final ObjectReader articleReader;
+    private final ObjectWriter resultWriter;
+    private final int batchSize;
+    private final Map<Status, Counter> itemCounters = new EnumMap<>(Status.class);
+    private final Timer batchTimer;
+    private final Counter bloomFalsePositives;
+
+    public NewsIngestService(NewsArticleWriteRepository newsArticleWriteRepository,
+            NewsUrlBloomFilter newsUrlBloomFilter, NewsFeedSnapshot newsFeedSnapshot,
+            NewsPartitionMaintenance newsPartitionMaintenance, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry, @Value("${news.ingest.batch-size:500}") int batchSize) {
+        this.newsArticleWriteRepository = newsArticleWriteRepository;
+        this.newsUrlBloomFilter = newsUrlBloomFilter;
+        this.newsFeedSnapshot = newsFeedSnapshot;
+        this.newsPartitionMaintenance = newsPartitionMaintenance;
+        this.articleReader = objectMapper.readerFor(NewsArticle.class);
+        this.resultWriter = objectMapper.writerFor(BulkIngestResult.class);
+        if (batchSize > NewsArticleWriteRepository.MAX_BATCH_SIZE) {
+            log.warn("news.ingest.batch-size {} exceeds the {} rows one insert can bind; using {}", batchSize,
+                    NewsArticleWriteRepository.MAX_BATCH_SIZE, NewsArticleWriteRepository.MAX_BATCH_SIZE);
+            batchSize = NewsArticleWriteRepository.MAX_BATCH_SIZE;
+        }
+        this.batchSize = batchSize;
+        for (Status status : Status.values()) {
+            itemCounters.put(status, Counter.builder("news.ingest.items")
+                    .description("Bulk-ingest lines by outcome")
+                    .tag("status", status.name())
+                    .register(meterRegistry));
+        }
+        this.batchTimer = Timer.builder("news.ingest.batch")
+                .description("Time to write one bulk-ingest batch")
+                .register(meterRegistry);
+        this.bloomFalsePositives = Counter.builder("news.dedup.bloom.false.positives")
+                .description("URLs the bloom filter reported as maybe seen that were not stored")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reads articles from {@code body} and writes one {@link BulkIngestResult}
+     * per non-blank line to {@code out} as NDJSON. Results are written in
+     * completion order, not input order: rejected lines right away, the rest
+     * when their batch is written. {@code out} is flushed after every batch
+     * and left open.
+     */
+    public void ingest(InputStream body, OutputStream out) throws IOException {
+        ResultStream response = new ResultStream(out);
+        List<PendingArticle> batch = new ArrayList<>(batchSize);
+        LocalDateTime retainedSince = newsPartitionMaintenance.retainedSince();
+        LocalDateTime acceptedUntil = newsPartitionMaintenance.acceptedUntil();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                NewsArticle article;
+                try {
+                    article = articleReader.readValue(line);
+                } catch (JsonProcessingException ex) {
+                    response.add(BulkIngestResult.rejected(lineNumber, "Malformed JSON: " + ex.getOriginalMessage()));
+                    continue;
+                }
+                String problem = validate(article, retainedSince, acceptedUntil);
+                if (problem != null) {
+                    response.add(BulkIngestResult.rejected(lineNumber, problem));
+                    continue;
+                }
+                batch.add(new PendingArticle(lineNumber, article));
+                if (batch.size() >= batchSize) {
+                    writeBatch(batch, response);
+                    batch.clear();
+                    response.flush();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch, response);
+        }
+        response.flush();
+        if (response.created > 0) {
+            newsFeedSnapshot.requestRebuild();
+        }
+    }
+
+    private static String validate(NewsArticle article, LocalDateTime retainedSince,
+            LocalDateTime acceptedUntil) {
+        if (article == null) {
+            return "Empty item";
+        }
+        if (article.getTitle() == null || article.getTitle().isBlank()) {
+            return "title is required";
+        }
+        if (article.getUrl() == null || article.getUrl().isBlank()) {
+            return "url is required";
+        }
+        if (article.getPublishedAt() != null && article.getPublishedAt().isBefore(retainedSince)) {
+            return "publishedAt is older than the retention window";
+        }
+        if (article.getPublishedAt() != null && !article.getPublishedAt().isBefore(acceptedUntil)) {
+            return "publishedAt is too far in the future";
+        }
+        return null;
+    }
+
+    private void writeBatch(List<PendingArticle> batch, ResultStream response) throws IOException {
+        // Collapse repeats within the batch onto their first occurrence
+        Map<String, PendingArticle> unique = new LinkedHashMap<>();
+        for (PendingArticle pending : batch) {
+            String urlHash = NewsUrlNormalizer.hash(pending.article().getUrl());
+            if (unique.putIfAbsent(urlHash, pending) != null) {
+                response.add(BulkIngestResult.duplicate(pending.line()));
+            }
+        }
+
+        // Lines that get FAILED if the batch write throws; shrinks once duplicates have been reported
+        Collection<PendingArticle> unreported = unique.values();
+        try {
+            // Only URLs the bloom filter may have seen need an existence check, one query per batch. A
+            // false negative (another instance, a concurrent request) is caught by the claim in insertNew
+            List<String> maybeSeen = unique.keySet().stream().filter(newsUrlBloomFilter::mightContain).toList();
+            Set<String> existing = newsArticleWriteRepository.findExistingHashes(maybeSeen);
+            bloomFalsePositives.increment(maybeSeen.size() - existing.size());
+
+            List<NewsArticle> articles = new ArrayList<>(unique.size());
+            List<PendingArticle> toWrite = new ArrayList<>(unique.size());
+            for (Map.Entry<String, PendingArticle> entry : unique.entrySet()) {
+                if (existing.contains(entry.getKey())) {
+                    response.add(BulkIngestResult.duplicate(entry.getValue().line()));
+                    continue;
+                }
+                toWrite.add(entry.getValue());
+                NewsArticle article = entry.getValue().article();
+                // Ingest only creates; a client-supplied id is never used
+                article.setId(UUID.randomUUID());
+                article.setUrlHash(entry.getKey());
+                articles.add(article);
+            }
+            unreported = toWrite;
+            if (articles.isEmpty()) {
+                return;
+            }
+
+            // news_url_hashes decides: URLs stored since the check come back as duplicates
+            Set<String> inserted = batchTimer.record(() -> newsArticleWriteRepository.insertNew(articles));
+            for (NewsArticle article : articles) {
+                PendingArticle pending = unique.get(article.getUrlHash());
+                if (inserted.contains(article.getUrlHash())) {
+                    newsUrlBloomFilter.put(article.getUrlHash());
+                    response.add(BulkIngestResult.created(pending.line(), article.getId()));
+                } else {
+                    response.add(BulkIngestResult.duplicate(pending.line()));
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Bulk ingest batch of {} failed: {}", unreported.size(), ex.getMessage());
+            for (PendingArticle pending : unreported) {
+                response.add(BulkIngestResult.failed(pending.line(), "Batch write failed"));
+            }
+        }
+    }
+
+    private record PendingArticle(long line, NewsArticle article) {
+    }
+
+    /** Writes results as NDJSON lines and counts them. */
+    private final class ResultStream {
+        private final OutputStream out;
+        private int created;
+
+        ResultStream(OutputStream out) {
+            this.out = out;
+        }
+
+        void add(BulkIngestResult result) throws IOException {
+            out.write(resultWriter.writeValueAsBytes(result));
+            out.write('\n');
+            itemCounters.get(result.status()).increment();
+            if (result.status() == Status.CREATED) {
+                created++;
+            }
+        }
+
+        void flush() throws IOException {
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.newtab.newtab.service;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the monthly partitions of {@code news_articles} in step with the
+ * calendar: partitions are created {@code news.partitions.premake-months}
+ * ahead, and partitions that end before the retention window are dropped.
+ * Dropping a partition removes a month of articles without a DELETE.
+ * <p>
+ * Each partition is created, and retention applied, in its own transaction
+ * under a transaction-scoped advisory lock. With several instances only one
+ * does each step, and one failing month does not hold up the others or the
+ * retention drop.
+ */
+@Component
+public class NewsPartitionMaintenance {
+
+    private static final Logger log = LoggerFactory.getLogger(NewsPartitionMaintenance.class);
+    private static final Pattern PARTITION_NAME = Pattern.compile("news_articles_(\\d{4})_(\\d{2})");
+    private static final DateTimeFormatter NAME_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final String DEFAULT_PARTITION = "news_articles_default";
+    private static final String ARTICLE_COLUMNS =
+            "id, title, description, url, url_hash, source, published_at, image_url, category, created_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionMonths;
+    private final int premakeMonths;
+
+    public NewsPartitionMaintenance(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            @Value("${news.partitions.retention-months:12}") int retentionMonths,
+            @Value("${news.partitions.premake-months:3}") int premakeMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.retentionMonths = retentionMonths;
+        this.premakeMonths = premakeMonths;
+    }
+
+    /**
+     * Oldest publish time still retained. Articles published before it would
+     * be dropped with their partition and are not accepted.
+     */
+    public LocalDateTime retainedSince() {
+        return YearMonth.now().minusMonths(retentionMonths).atDay(1).atStartOfDay();
+    }
+
+    /**
+     * End of the newest premade partition. Articles published at or after it
+     * would land in the default partition and are not accepted.
+     */
+    public LocalDateTime acceptedUntil() {
+        return YearMonth.now().plusMonths(premakeMonths + 1L).atDay(1).atStartOfDay();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${news.partitions.maintenance-interval:PT6H}",
+            initialDelayString = "${news.partitions.maintenance-interval:PT6H}")
+    public void maintain() {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= premakeMonths; i++) {
+            YearMonth month = current.plusMonths(i);
+            runLocked("create partition " + month, () -> createPartition(month));
+        }
+        runLocked("retention", this::dropExpiredPartitions);
+    }
+
+    private void runLocked(String step, Runnable work) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Boolean locked = jdbcTemplate.queryForObject(
+                        "SELECT pg_try_advisory_xact_lock(hashtext('news_articles_partitions'))", Boolean.class);
+                if (Boolean.TRUE.equals(locked)) {
+                    work.run();
+                }
+            });
+        } catch (DataAccessException ex) {
+            log.warn("News partition maintenance step '{}' failed: {}", step, ex.getMessage());
+        }
+    }
+
+    private void createPartition(YearMonth month) {
+        String partition = "news_articles_" + month.format(NAME_SUFFIX);
+        if (jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition)) {
+            return;
+        }
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+        String create = "CREATE TABLE " + partition + " PARTITION OF news_articles FOR VALUES FROM ('"
+                + from.toLocalDate() + "') TO ('" + to.toLocalDate() + "')";
+        boolean defaultHasRows = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION + " WHERE published_at >= ? AND published_at < ?)",
+                Boolean.class, from, to);
+        if (!defaultHasRows) {
+            jdbcTemplate.execute(create);
+            return;
+        }
+        // Postgres refuses a new partition whose range has rows in the default partition, so take the
+        // default out, create the month, move its rows across and put the default back
+        jdbcTemplate.execute("ALTER TABLE news_articles DETACH PARTITION " + DEFAULT_PARTITION);
+        jdbcTemplate.execute(create);
+        int moved = jdbcTemplate.update("INSERT INTO news_articles (" + ARTICLE_COLUMNS + ") SELECT "
+                + ARTICLE_COLUMNS + " FROM " + DEFAULT_PARTITION + " WHERE published_at >= ? AND published_at < ?",
+                from, to);
+        jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + " WHERE published_at >= ? AND published_at < ?",
+                from, to);
+        jdbcTemplate.execute("ALTER TABLE news_articles ATTACH PARTITION " + DEFAULT_PARTITION + " DEFAULT");
+        log.info("Created news partition {} and moved {} article(s) out of {}", partition, moved, DEFAULT_PARTITION);
+    }
+
+    private void dropExpiredPartitions() {
+        YearMonth oldestRetained = YearMonth.from(retainedSince());
+        List<String> partitions = jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_inherits i
+                  JOIN pg_class c ON c.oid = i.inhrelid
+                  JOIN pg_class p ON p.oid = i.inhparent
+                 WHERE p.relname = 'news_articles'""", String.class);
+        for (String partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (month.isBefore(oldestRetained)) {
+                jdbcTemplate.execute("DROP TABLE " + partition);
+                log.info("Dropped expired news partition {}", partition);
+            }
+        }
+        // Only stragglers outside every monthly range live here, so this stays small
+        int purged = jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + " WHERE published_at < ?",
+                retainedSince());
+        if (purged > 0) {
+            log.info("Purged {} expired article(s) from {}", purged, DEFAULT_PARTITION);
+        }
+        // Release the URLs of expired articles so they can be ingested again
+        jdbcTemplate.update("DELETE FROM news_url_hashes WHERE published_at < ?", retainedSince());
+    }
+}
@@ -0,0 +1,130 @@
+package com.newtab.newtab.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.newtab.newtab.repository.NewsArticleWriteRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * In-memory bloom filter over stored {@code url_hash} values, used to skip the
+ * existence check for URLs that have certainly never been seen. A negative is
+ * only a hint: rows written by other instances, or while the filter is being
+ * rebuilt, can be missing, so {@code news_url_hashes} stays the source of
+ * truth.
+ * <p>
+ * Bloom filters cannot forget, so deleted articles stay "maybe seen" until the
+ * periodic rebuild.
+ */
+@Component
+public class NewsUrlBloomFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(NewsUrlBloomFilter.class);
+
+    private final NewsArticleWriteRepository writeRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int numBits;
+    private final int numHashes;
+    private volatile AtomicLongArray bits;
+    private volatile boolean loaded;
+    private final AtomicLong entries = new AtomicLong();
+
+    public NewsUrlBloomFilter(NewsArticleWriteRepository writeRepository, TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${news.dedup.bloom.expected-insertions:1000000}") long expectedInsertions,
+            @Value("${news.dedup.bloom.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.writeRepository = writeRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.numBits = (int) Math.min(Math.max(optimalBits, 64), Integer.MAX_VALUE - 63);
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / expectedInsertions * ln2));
+        this.bits = new AtomicLongArray(words(numBits));
+        Gauge.builder("news.dedup.bloom.entries", entries, AtomicLong::get)
+                .description("URL hashes added to the dedup bloom filter since its last rebuild")
+                .register(meterRegistry);
+    }
+
+    /**
+     * False means the URL hash has definitely not been stored by this
+     * instance since the last rebuild; true means it may have been. Always
+     * true until the first load completes.
+     */
+    public boolean mightContain(String urlHash) {
+        if (!loaded) {
+            return true;
+        }
+        AtomicLongArray current = bits;
+        long h1 = Long.parseUnsignedLong(urlHash, 0, 16, 16);
+        long h2 = Long.parseUnsignedLong(urlHash, 16, 32, 16);
+        for (int i = 0; i < numHashes; i++) {
+            int bit = bitIndex(h1, h2, i);
+            if ((current.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void put(String urlHash) {
+        set(bits, urlHash);
+        entries.incrementAndGet();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${news.dedup.bloom.rebuild-interval:PT6H}",
+            initialDelayString = "${news.dedup.bloom.rebuild-interval:PT6H}")
+    public void rebuild() {
+        try {
+            AtomicLongArray fresh = new AtomicLongArray(words(numBits));
+            long[] count = {0};
+            readOnlyTransaction.executeWithoutResult(status -> writeRepository.forEachUrlHash(hash -> {
+                set(fresh, hash);
+                count[0]++;
+            }));
+            bits = fresh;
+            entries.set(count[0]);
+            loaded = true;
+            log.info("Loaded {} url hash(es) into the dedup bloom filter ({} bits, {} hashes)",
+                    count[0], numBits, numHashes);
+        } catch (RuntimeException ex) {
+            // Keep the current filter; until the first load every URL is "maybe seen"
+            log.warn("Failed to rebuild the dedup bloom filter: {}", ex.getMessage());
+        }
+    }
+
+    private void set(AtomicLongArray target, String urlHash) {
+        long h1 = Long.parseUnsignedLong(urlHash, 0, 16, 16);
+        long h2 = Long.parseUnsignedLong(urlHash, 16, 32, 16);
+        for (int i = 0; i < numHashes; i++) {
+            int bit = bitIndex(h1, h2, i);
+            long mask = 1L << bit;
+            int word = bit >>> 6;
+            long old;
+            do {
+                old = target.get(word);
+            } while ((old & mask) == 0 && !target.compareAndSet(word, old, old | mask));
+        }
+    }
+
+    // Kirsch-Mitzenmacher double hashing over two independent halves of the SHA-256
+    private int bitIndex(long h1, long h2, int i) {
+        return (int) Long.remainderUnsigned(h1 + i * h2, numBits);
+    }
+
+    private static int words(int numBits) {
+        return (numBits + 63) >>> 6;
+    }
+}
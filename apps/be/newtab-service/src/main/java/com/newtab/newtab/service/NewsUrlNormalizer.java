@@ -0,0 +1,97 @@
+package com.newtab.newtab.service;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Reduces article URLs to a canonical form so that the same article reached
+ * through different links (http vs https, {@code www.}, tracking parameters,
+ * fragments, trailing slashes) maps to the same {@code url_hash}.
+ */
+public final class NewsUrlNormalizer {
+
+    private static final Set<String> TRACKING_PARAMS = Set.of(
+            "fbclid", "gclid", "dclid", "msclkid", "mc_cid", "mc_eid", "ref", "ref_src", "igshid");
+
+    private NewsUrlNormalizer() {
+    }
+
+    public static String normalize(String url) {
+        String trimmed = url.trim();
+        URI uri;
+        try {
+            uri = new URI(trimmed);
+        } catch (URISyntaxException ex) {
+            return trimmed.toLowerCase(Locale.ROOT);
+        }
+        if (uri.getHost() == null) {
+            return trimmed.toLowerCase(Locale.ROOT);
+        }
+
+        String scheme = uri.getScheme() == null ? "https" : uri.getScheme().toLowerCase(Locale.ROOT);
+        if (scheme.equals("http")) {
+            scheme = "https";
+        }
+        String host = uri.getHost().toLowerCase(Locale.ROOT);
+        if (host.startsWith("www.")) {
+            host = host.substring(4);
+        }
+        int port = uri.getPort();
+        boolean defaultPort = port == -1 || port == 80 || port == 443;
+
+        String path = uri.getRawPath() == null ? "" : uri.getRawPath();
+        while (path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+
+        StringBuilder normalized = new StringBuilder(scheme).append("://").append(host);
+        if (!defaultPort) {
+            normalized.append(':').append(port);
+        }
+        normalized.append(path);
+        String query = normalizeQuery(uri.getRawQuery());
+        if (!query.isEmpty()) {
+            normalized.append('?').append(query);
+        }
+        return normalized.toString();
+    }
+
+    private static String normalizeQuery(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return "";
+        }
+        List<String> kept = new ArrayList<>();
+        for (String param : rawQuery.split("&")) {
+            if (param.isEmpty()) {
+                continue;
+            }
+            String name = param.split("=", 2)[0].toLowerCase(Locale.ROOT);
+            if (!name.startsWith("utm_") && !TRACKING_PARAMS.contains(name)) {
+                kept.add(param);
+            }
+        }
+        kept.sort(null);
+        return String.join("&", kept);
+    }
+
+    /**
+     * Hex SHA-256 of the normalized URL, the value stored in
+     * {@code news_articles.url_hash}.
+     */
+    public static String hash(String url) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(normalize(url).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
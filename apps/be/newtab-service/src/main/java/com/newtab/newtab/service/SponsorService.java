@@ -3,6 +3,11 @@ package com.newtab.newtab.service;
 import java.util.List;
 import java.util.Random;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import com.newtab.newtab.dto.SponsorRequest;
@@ -12,8 +17,11 @@ import com.newtab.newtab.repository.SponsorRepository;
 @Service
 public class SponsorService {
 
+    private static final Logger log = LoggerFactory.getLogger(SponsorService.class);
+
     private final SponsorRepository sponsorRepository;
     private final Random random = new Random();
+    private volatile String sponsorsVersion;
 
     public SponsorService(SponsorRepository sponsorRepository) {
         this.sponsorRepository = sponsorRepository;
@@ -28,7 +36,9 @@ public class SponsorService {
         sponsor.setMediaUrl(request.getMediaUrl());
         sponsor.setLinkUrl(request.getLinkUrl());
         sponsor.setIsActive(request.getIsActive());
-        return sponsorRepository.save(sponsor);
+        Sponsor saved = sponsorRepository.save(sponsor);
+        refreshSponsorsVersion();
+        return saved;
     }
 
     public Sponsor getRandomSponsor() {
@@ -55,10 +65,38 @@ public class SponsorService {
         sponsor.setLinkUrl(request.getLinkUrl());
         sponsor.setIsActive(request.getIsActive());
 
-        return sponsorRepository.save(sponsor);
+        Sponsor saved = sponsorRepository.save(sponsor);
+        refreshSponsorsVersion();
+        return saved;
     }
 
     public void deleteSponsor(java.util.UUID id) {
         sponsorRepository.deleteById(id);
+        refreshSponsorsVersion();
+    }
+
+    /**
+     * Version of the sponsor list, used as its ETag. Null until first loaded
+     * or after a failed refresh, in which case no ETag is sent.
+     */
+    public String getSponsorsVersion() {
+        return sponsorsVersion;
+    }
+
+    /**
+     * Re-reads the sponsor version after local writes and on a short interval,
+     * so writes made through other instances are seen within
+     * {@code etag.refresh-interval}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${etag.refresh-interval:PT10S}",
+            initialDelayString = "${etag.refresh-interval:PT10S}")
+    public void refreshSponsorsVersion() {
+        try {
+            sponsorsVersion = "sponsors-" + sponsorRepository.contentVersion();
+        } catch (RuntimeException ex) {
+            sponsorsVersion = null;
+            log.warn("Failed to refresh sponsor version: {}", ex.getMessage());
+        }
     }
 }
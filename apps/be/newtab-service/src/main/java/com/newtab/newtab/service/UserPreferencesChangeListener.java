@@ -0,0 +1,112 @@
+package com.newtab.newtab.service;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.UUID;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listens on the {@code user_preferences_changed} channel, which a trigger on
+ * {@code user_preferences} notifies on every committed change, and makes this
+ * instance forget the remembered ETag of that user. Changes made through
+ * another instance, or directly in the database, therefore stop being
+ * answered with 304 as soon as the notification arrives.
+ * <p>
+ * The listener holds its own connection outside the pool. Notifications sent
+ * while it is disconnected are lost, so every (re)connect forgets all
+ * remembered ETags; {@code etag.preferences.ttl} stays as the upper bound
+ * for anything that slips through.
+ */
+@Component
+@ConditionalOnProperty(name = "etag.preferences.listen", havingValue = "true", matchIfMissing = true)
+public class UserPreferencesChangeListener implements DisposableBean {
+
+    static final String CHANNEL = "user_preferences_changed";
+
+    private static final Logger log = LoggerFactory.getLogger(UserPreferencesChangeListener.class);
+    private static final int POLL_TIMEOUT_MILLIS = 5000;
+
+    private final UserPreferencesService userPreferencesService;
+    private final DataSourceProperties dataSourceProperties;
+    private final long reconnectDelayMillis;
+    private final Thread listenerThread;
+    private volatile boolean running = true;
+
+    public UserPreferencesChangeListener(UserPreferencesService userPreferencesService,
+            DataSourceProperties dataSourceProperties,
+            @Value("${etag.preferences.listen-reconnect-delay:PT5S}") Duration reconnectDelay) {
+        this.userPreferencesService = userPreferencesService;
+        this.dataSourceProperties = dataSourceProperties;
+        this.reconnectDelayMillis = reconnectDelay.toMillis();
+        this.listenerThread = new Thread(this::listen, "preferences-etag-listener");
+        this.listenerThread.setDaemon(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        listenerThread.start();
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                // Anything committed before LISTEN took effect was not seen
+                userPreferencesService.forgetAllEtags();
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        forget(notification.getParameter());
+                    }
+                }
+            } catch (SQLException ex) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Preferences change listener lost its connection, reconnecting: {}", ex.getMessage());
+                userPreferencesService.forgetAllEtags();
+                try {
+                    Thread.sleep(reconnectDelayMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void forget(String userId) {
+        try {
+            userPreferencesService.forgetEtag(UUID.fromString(userId));
+        } catch (IllegalArgumentException ex) {
+            userPreferencesService.forgetAllEtags();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        listenerThread.interrupt();
+    }
+}
@@ -1,5 +1,13 @@
 package com.newtab.newtab.service;
 
+import java.time.Duration;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import com.newtab.newtab.dto.UserPreferencesRequest;
@@ -9,10 +17,62 @@ import com.newtab.newtab.repository.UserPreferencesRepository;
 @Service
 public class UserPreferencesService {
 
+    private static final DateTimeFormatter VERSION_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSSSSS");
+
     private final UserPreferencesRepository userPreferencesRepository;
+    private final Map<UUID, KnownEtag> knownEtags = new ConcurrentHashMap<>();
+    private final long etagTtlMillis;
+    private final int maxKnownEtags;
 
-    public UserPreferencesService(UserPreferencesRepository userPreferencesRepository) {
+    public UserPreferencesService(UserPreferencesRepository userPreferencesRepository,
+            @Value("${etag.preferences.ttl:PT10S}") Duration etagTtl,
+            @Value("${etag.preferences.max-entries:100000}") int maxKnownEtags) {
         this.userPreferencesRepository = userPreferencesRepository;
+        this.etagTtlMillis = etagTtl.toMillis();
+        this.maxKnownEtags = maxKnownEtags;
+    }
+
+    /**
+     * ETag of the user's preferences as last seen by this instance, or null if
+     * unknown or older than {@code etag.preferences.ttl}. Lets a conditional
+     * GET be answered without a query. Changes made elsewhere are dropped by
+     * {@link UserPreferencesChangeListener}; the TTL bounds how long a change
+     * can go unnoticed if a notification is missed.
+     */
+    public String getKnownEtag(UUID userId) {
+        KnownEtag known = knownEtags.get(userId);
+        if (known == null || known.expiresAtMillis() < System.currentTimeMillis()) {
+            return null;
+        }
+        return known.etag();
+    }
+
+    /**
+     * Computes the ETag for loaded preferences and remembers it for
+     * {@link #getKnownEtag(UUID)}.
+     */
+    public String rememberEtag(UserPreferences preferences) {
+        String etag = "prefs-" + (preferences.getUpdatedAt() != null
+                ? VERSION_FORMAT.format(preferences.getUpdatedAt())
+                : "0");
+        if (knownEtags.size() < maxKnownEtags || knownEtags.containsKey(preferences.getUserId())) {
+            knownEtags.put(preferences.getUserId(), new KnownEtag(etag, System.currentTimeMillis() + etagTtlMillis));
+        }
+        return etag;
+    }
+
+    public void forgetEtag(UUID userId) {
+        knownEtags.remove(userId);
+    }
+
+    public void forgetAllEtags() {
+        knownEtags.clear();
+    }
+
+    @Scheduled(fixedDelayString = "${etag.preferences.ttl:PT10S}")
+    public void purgeExpiredEtags() {
+        long now = System.currentTimeMillis();
+        knownEtags.values().removeIf(known -> known.expiresAtMillis() < now);
     }
 
     public UserPreferences getPreferences(java.util.UUID userId) {
@@ -45,6 +105,11 @@ public class UserPreferencesService {
         if (request.getShowHistory() != null)
             preferences.setShowHistory(request.getShowHistory());
 
-        return userPreferencesRepository.save(preferences);
+        UserPreferences saved = userPreferencesRepository.save(preferences);
+        rememberEtag(saved);
+        return saved;
+    }
+
+    private record KnownEtag(String etag, long expiresAtMillis) {
     }
 }
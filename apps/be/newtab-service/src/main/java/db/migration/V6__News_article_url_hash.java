@@ -0,0 +1,152 @@
+package db.migration;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Adds {@code news_articles.url_hash}, the SHA-256 of the normalized URL, and
+ * makes it unique. Written in Java because the backfill has to apply the URL
+ * normalization the application used when this migration was written; that
+ * normalization is frozen in {@link UrlHash}. Rows are streamed, and existing
+ * duplicates are collapsed onto the oldest row.
+ */
+public class V6__News_article_url_hash extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE news_articles ADD COLUMN IF NOT EXISTS url_hash VARCHAR(64)");
+        }
+
+        // Streamed with a cursor (Flyway runs the migration inside a transaction) and written back in batches
+        try (Statement select = connection.createStatement();
+                PreparedStatement update = connection.prepareStatement(
+                        "UPDATE news_articles SET url_hash = ? WHERE id = ?")) {
+            select.setFetchSize(BATCH_SIZE);
+            try (ResultSet rows = select.executeQuery("SELECT id, url FROM news_articles WHERE url_hash IS NULL")) {
+                int pending = 0;
+                while (rows.next()) {
+                    update.setString(1, UrlHash.of(rows.getString("url")));
+                    update.setObject(2, rows.getObject("id"));
+                    update.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        update.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    update.executeBatch();
+                }
+            }
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    DELETE FROM news_articles WHERE id IN (
+                        SELECT id FROM (
+                            SELECT id, row_number() OVER (
+                                PARTITION BY url_hash ORDER BY created_at NULLS LAST, id) AS rn
+                            FROM news_articles
+                        ) ranked WHERE rn > 1
+                    )""");
+            statement.execute("ALTER TABLE news_articles ALTER COLUMN url_hash SET NOT NULL");
+            statement.execute("CREATE UNIQUE INDEX IF NOT EXISTS idx_news_url_hash ON news_articles (url_hash)");
+        }
+    }
+
+    /**
+     * Frozen copy of {@code NewsUrlNormalizer} as of this migration, so later
+     * changes to the application's normalization cannot change what this
+     * migration does.
+     */
+    private static final class UrlHash {
+
+        private static final Set<String> TRACKING_PARAMS = Set.of(
+                "fbclid", "gclid", "dclid", "msclkid", "mc_cid", "mc_eid", "ref", "ref_src", "igshid");
+
+        private static String normalize(String url) {
+            String trimmed = url.trim();
+            URI uri;
+            try {
+                uri = new URI(trimmed);
+            } catch (URISyntaxException ex) {
+                return trimmed.toLowerCase(Locale.ROOT);
+            }
+            if (uri.getHost() == null) {
+                return trimmed.toLowerCase(Locale.ROOT);
+            }
+
+            String scheme = uri.getScheme() == null ? "https" : uri.getScheme().toLowerCase(Locale.ROOT);
+            if (scheme.equals("http")) {
+                scheme = "https";
+            }
+            String host = uri.getHost().toLowerCase(Locale.ROOT);
+            if (host.startsWith("www.")) {
+                host = host.substring(4);
+            }
+            int port = uri.getPort();
+            boolean defaultPort = port == -1 || port == 80 || port == 443;
+
+            String path = uri.getRawPath() == null ? "" : uri.getRawPath();
+            while (path.endsWith("/")) {
+                path = path.substring(0, path.length() - 1);
+            }
+
+            StringBuilder normalized = new StringBuilder(scheme).append("://").append(host);
+            if (!defaultPort) {
+                normalized.append(':').append(port);
+            }
+            normalized.append(path);
+            String query = normalizeQuery(uri.getRawQuery());
+            if (!query.isEmpty()) {
+                normalized.append('?').append(query);
+            }
+            return normalized.toString();
+        }
+
+        private static String normalizeQuery(String rawQuery) {
+            if (rawQuery == null || rawQuery.isEmpty()) {
+                return "";
+            }
+            List<String> kept = new ArrayList<>();
+            for (String param : rawQuery.split("&")) {
+                if (param.isEmpty()) {
+                    continue;
+                }
+                String name = param.split("=", 2)[0].toLowerCase(Locale.ROOT);
+                if (!name.startsWith("utm_") && !TRACKING_PARAMS.contains(name)) {
+                    kept.add(param);
+                }
+            }
+            kept.sort(null);
+            return String.join("&", kept);
+        }
+
+        static String of(String url) {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                return HexFormat.of().formatHex(digest.digest(normalize(url).getBytes(StandardCharsets.UTF_8)));
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException("SHA-256 not available", ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+-- Key refresh tokens by a fixed-width SHA-256 digest instead of the raw token.
+-- The 500-char token column was indexed twice (UNIQUE + idx_refresh_tokens_token);
+-- a 64-char hex digest keeps the lookup index compact and no raw token is stored.
+ALTER TABLE refresh_tokens ADD COLUMN IF NOT EXISTS token_hash VARCHAR(64);
+
+UPDATE refresh_tokens
+SET token_hash = encode(sha256(convert_to(token, 'UTF8')), 'hex')
+WHERE token_hash IS NULL;
+
+ALTER TABLE refresh_tokens ALTER COLUMN token_hash SET NOT NULL;
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_refresh_tokens_token_hash ON refresh_tokens(token_hash);
+
+DROP INDEX IF EXISTS idx_refresh_tokens_token;
+ALTER TABLE refresh_tokens DROP COLUMN IF EXISTS token;
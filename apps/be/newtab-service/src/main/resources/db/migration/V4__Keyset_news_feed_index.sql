@@ -0,0 +1,5 @@
+-- Cursor pagination orders the feed by (published_at DESC, id DESC) and seeks
+-- with a row comparison on the same pair. Widening idx_news_published to both
+-- columns lets each page be a single index range scan, however deep the cursor.
+DROP INDEX IF EXISTS idx_news_published;
+CREATE INDEX IF NOT EXISTS idx_news_published ON news_articles(published_at DESC, id DESC);
@@ -0,0 +1,11 @@
+-- Full-text search over news titles and descriptions. The tsvector is a stored
+-- generated column, so it is maintained by Postgres on every insert/update and
+-- the GIN index answers @@ matches without touching the heap for non-matches.
+-- Title terms weigh more than description terms in ranking.
+ALTER TABLE news_articles ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_news_search ON news_articles USING GIN (search_vector);
@@ -0,0 +1,65 @@
+-- Range-partition news_articles by month of published_at. Recent-news queries
+-- carry a published_at lower bound and are pruned to the newest partitions,
+-- and retention drops whole partitions instead of running bulk DELETEs.
+-- NewsPartitionMaintenance creates upcoming months and drops expired ones;
+-- rows outside every monthly range land in the default partition.
+--
+-- The partition key must be part of every unique constraint, so the primary
+-- key becomes (id, published_at) and URL uniqueness (url_hash, published_at).
+-- published_at becomes NOT NULL; articles without one are dated by created_at.
+
+ALTER TABLE news_articles RENAME TO news_articles_legacy;
+
+CREATE TABLE news_articles (
+    id UUID NOT NULL DEFAULT uuid_generate_v4(),
+    title VARCHAR(500) NOT NULL,
+    description TEXT,
+    url VARCHAR(1000) NOT NULL,
+    url_hash VARCHAR(64) NOT NULL,
+    source VARCHAR(100),
+    published_at TIMESTAMP NOT NULL,
+    image_url VARCHAR(1000),
+    category VARCHAR(100),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    ) STORED,
+    PRIMARY KEY (id, published_at)
+) PARTITION BY RANGE (published_at);
+
+CREATE TABLE news_articles_default PARTITION OF news_articles DEFAULT;
+
+-- Monthly partitions from the oldest existing article (at most two years back)
+-- through three months ahead
+DO $$
+DECLARE
+    month_start DATE;
+    last_month DATE := (date_trunc('month', CURRENT_TIMESTAMP) + INTERVAL '3 months')::date;
+BEGIN
+    SELECT date_trunc('month', GREATEST(
+               LEAST(COALESCE(min(COALESCE(published_at, created_at)), CURRENT_TIMESTAMP), CURRENT_TIMESTAMP),
+               CURRENT_TIMESTAMP - INTERVAL '2 years'))::date
+      INTO month_start
+      FROM news_articles_legacy;
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF news_articles FOR VALUES FROM (%L) TO (%L)',
+                       'news_articles_' || to_char(month_start, 'YYYY_MM'),
+                       month_start, (month_start + INTERVAL '1 month')::date);
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO news_articles (id, title, description, url, url_hash, source, published_at, image_url, category, created_at)
+SELECT id, title, description, url, url_hash, source,
+       COALESCE(published_at, created_at, CURRENT_TIMESTAMP), image_url, category, created_at
+  FROM news_articles_legacy;
+
+DROP TABLE news_articles_legacy;
+
+-- Indexes are created on the parent after the copy and cascade to every partition
+CREATE INDEX IF NOT EXISTS idx_news_published ON news_articles (published_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_news_source ON news_articles (source);
+CREATE INDEX IF NOT EXISTS idx_news_category ON news_articles (category);
+CREATE INDEX IF NOT EXISTS idx_news_search ON news_articles USING GIN (search_vector);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_news_url_hash ON news_articles (url_hash, published_at);
@@ -0,0 +1,24 @@
+-- URL uniqueness for news articles. A unique index on the partitioned table
+-- has to include published_at, so it cannot stop the same URL being stored
+-- under two publish times. Writers first claim the url_hash here, in the same
+-- transaction as the article insert, and ON CONFLICT on this table decides.
+-- published_at mirrors the article's, so retention can purge expired hashes.
+CREATE TABLE IF NOT EXISTS news_url_hashes (
+    url_hash VARCHAR(64) PRIMARY KEY,
+    published_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_news_url_hashes_published ON news_url_hashes (published_at);
+
+-- Collapse URLs stored more than once since V7 onto the oldest row
+DELETE FROM news_articles n
+ USING (SELECT id, published_at,
+               row_number() OVER (PARTITION BY url_hash ORDER BY created_at NULLS LAST, id) AS rn
+          FROM news_articles) ranked
+ WHERE n.id = ranked.id
+   AND n.published_at = ranked.published_at
+   AND ranked.rn > 1;
+
+INSERT INTO news_url_hashes (url_hash, published_at)
+SELECT url_hash, published_at FROM news_articles
+ON CONFLICT (url_hash) DO NOTHING;
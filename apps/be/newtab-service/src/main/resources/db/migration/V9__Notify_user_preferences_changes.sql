@@ -0,0 +1,12 @@
+-- Every committed change to user_preferences notifies the user id, so each
+-- newtab-service instance can drop its remembered preferences ETag for that user
+CREATE OR REPLACE FUNCTION notify_user_preferences_changed() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('user_preferences_changed', COALESCE(NEW.user_id, OLD.user_id)::text);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER user_preferences_changed
+    AFTER INSERT OR UPDATE OR DELETE ON user_preferences
+    FOR EACH ROW EXECUTE FUNCTION notify_user_preferences_changed();
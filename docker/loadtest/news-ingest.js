@@ -0,0 +1,105 @@
+// News ingest throughput: one article per POST /api/news against
+// POST /api/news/bulk with BULK_LINES articles per NDJSON body, through nginx.
+// The two scenarios run one after the other with the same number of VUs, and
+// every article has a fresh URL, so both measure inserts, not duplicates.
+//
+// Articles stored per second for each path, and their ratio, go to RESULTS_FILE.
+
+import http from 'k6/http';
+import { check } from 'k6';
+import { Counter } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost';
+const VUS = Number(__ENV.INGEST_VUS || 8);
+const DURATION_S = Number(__ENV.INGEST_DURATION_S || 60);
+const BULK_LINES = Number(__ENV.BULK_LINES || 1000);
+const RESULTS_FILE = __ENV.RESULTS_FILE || 'summary-ingest.json';
+
+const singleStored = new Counter('articles_stored_single');
+const bulkStored = new Counter('articles_stored_bulk');
+
+export const options = {
+  scenarios: {
+    single: {
+      executor: 'constant-vus',
+      exec: 'single',
+      vus: VUS,
+      duration: `${DURATION_S}s`,
+    },
+    bulk: {
+      executor: 'constant-vus',
+      exec: 'bulk',
+      vus: VUS,
+      duration: `${DURATION_S}s`,
+      startTime: `${DURATION_S + 5}s`,
+    },
+  },
+  thresholds: {
+    'http_req_failed{scenario:single}': ['rate<0.01'],
+    'http_req_failed{scenario:bulk}': ['rate<0.01'],
+  },
+};
+
+const runId = Date.now();
+
+function article(kind, n) {
+  return {
+    title: `Ingest test headline ${n}`,
+    description: 'Written by the ingest throughput test. '.repeat(4),
+    url: `https://news.example.com/ingest/${runId}/${kind}/${__VU}/${n}`,
+    source: 'Ingest Test',
+    category: ['technology', 'business', 'science', 'sports'][n % 4],
+    publishedAt: new Date().toISOString().slice(0, 19),
+  };
+}
+
+export function setup() {
+  const res = http.post(`${BASE_URL}/api/auth/guest`);
+  check(res, { 'guest token issued': (r) => r.status === 200 });
+  return { token: res.json('token') };
+}
+
+function headers(token, contentType) {
+  return { headers: { 'Content-Type': contentType, Authorization: `Bearer ${token}` } };
+}
+
+export function single(data) {
+  const res = http.post(`${BASE_URL}/api/news`, JSON.stringify(article('single', __ITER)),
+    headers(data.token, 'application/json'));
+  if (check(res, { 'single 200': (r) => r.status === 200 })) {
+    singleStored.add(1);
+  }
+}
+
+export function bulk(data) {
+  const lines = [];
+  for (let i = 0; i < BULK_LINES; i++) {
+    lines.push(JSON.stringify(article('bulk', __ITER * BULK_LINES + i)));
+  }
+  const res = http.post(`${BASE_URL}/api/news/bulk`, lines.join('\n'),
+    Object.assign(headers(data.token, 'application/x-ndjson'), { timeout: '120s' }));
+  check(res, { 'bulk 200': (r) => r.status === 200 });
+  if (res.status === 200) {
+    bulkStored.add(res.body.split('\n').filter((line) => line.includes('"CREATED"')).length);
+  }
+}
+
+export function handleSummary(data) {
+  const stored = (name) => (data.metrics[name] ? data.metrics[name].values.count : 0);
+  const singleRate = stored('articles_stored_single') / DURATION_S;
+  const bulkRate = stored('articles_stored_bulk') / DURATION_S;
+  const result = {
+    timestamp: new Date().toISOString(),
+    config: { vus: VUS, duration_s: DURATION_S, bulk_lines: BULK_LINES },
+    articles_per_second: {
+      single: Number(singleRate.toFixed(1)),
+      bulk: Number(bulkRate.toFixed(1)),
+    },
+    bulk_to_single_ratio: singleRate > 0 ? Number((bulkRate / singleRate).toFixed(1)) : null,
+  };
+  return {
+    stdout: `\nsingle ${result.articles_per_second.single} articles/s  bulk ${result.articles_per_second.bulk} articles/s`
+      + `  ratio ${result.bulk_to_single_ratio}\n\nResults written to ${RESULTS_FILE}\n`,
+    [RESULTS_FILE]: JSON.stringify(result, null, 2),
+  };
+}
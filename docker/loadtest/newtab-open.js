@@ -0,0 +1,199 @@
+// Replays the requests a browser makes when a new tab opens, through nginx.
+//
+// Mix per iteration (one iteration = one new-tab open):
+//   - guests: news page + random sponsor, each passing through auth_request;
+//     NEW_GUEST_RATIO of opens start a fresh guest session (POST /api/auth/guest)
+//   - registered users (REGISTERED_RATIO): the same, plus a history read and,
+//     for HISTORY_WRITE_RATIO of opens, a history write
+//   - VALIDATE_RATIO of opens also call /api/auth/validate directly, as nginx does
+//
+// Results per endpoint (p50/p95/p99, throughput, errors) go to RESULTS_FILE as JSON.
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost';
+const RATE = Number(__ENV.RATE || 200);
+const DURATION = __ENV.DURATION || '2m';
+const REGISTERED_USERS = Number(__ENV.REGISTERED_USERS || 50);
+const RESULTS_FILE = __ENV.RESULTS_FILE || 'summary.json';
+
+const NEW_GUEST_RATIO = 0.1;
+const REGISTERED_RATIO = 0.2;
+const HISTORY_WRITE_RATIO = 0.2;
+const VALIDATE_RATIO = 0.05;
+const SEED_ARTICLES = 200;
+const SEED_SPONSORS = 10;
+
+const ENDPOINTS = ['guest', 'validate', 'news', 'sponsor', 'history_read', 'history_write'];
+
+export const options = {
+  scenarios: {
+    new_tab_open: {
+      executor: 'ramping-arrival-rate',
+      startRate: Math.max(1, Math.floor(RATE / 10)),
+      timeUnit: '1s',
+      preAllocatedVUs: Math.max(10, RATE),
+      maxVUs: RATE * 5,
+      stages: [
+        { target: RATE, duration: '30s' },
+        { target: RATE, duration: DURATION },
+      ],
+    },
+  },
+  summaryTrendStats: ['avg', 'med', 'p(95)', 'p(99)', 'max', 'count'],
+  // One submetric per endpoint so the summary carries per-endpoint latency and counts
+  thresholds: Object.fromEntries(ENDPOINTS.flatMap((endpoint) => [
+    [`http_req_duration{endpoint:${endpoint}}`, ['p(99)<2000']],
+    [`http_req_failed{endpoint:${endpoint}}`, ['rate<0.01']],
+    [`http_reqs{endpoint:${endpoint}}`, ['count>=0']],
+  ])),
+};
+
+function jsonHeaders(token) {
+  const headers = { 'Content-Type': 'application/json' };
+  if (token) {
+    headers.Authorization = `Bearer ${token}`;
+  }
+  return { headers };
+}
+
+function tagged(params, endpoint) {
+  return Object.assign({}, params, { tags: { endpoint } });
+}
+
+function guestToken() {
+  const res = http.post(`${BASE_URL}/api/auth/guest`, null, tagged(jsonHeaders(), 'guest'));
+  check(res, { 'guest token issued': (r) => r.status === 200 });
+  return res.status === 200 ? res.json('token') : null;
+}
+
+export function setup() {
+  const admin = guestToken();
+  for (let i = 0; i < SEED_ARTICLES; i++) {
+    http.post(`${BASE_URL}/api/news`, JSON.stringify({
+      title: `Load test headline ${i}`,
+      description: 'Seeded by the load-test harness. '.repeat(4),
+      url: `https://news.example.com/loadtest/${i}`,
+      source: 'Load Test',
+      category: ['technology', 'business', 'science', 'sports'][i % 4],
+      publishedAt: new Date(Date.now() - i * 60000).toISOString().slice(0, 19),
+    }), jsonHeaders(admin));
+  }
+  for (let i = 0; i < SEED_SPONSORS; i++) {
+    http.post(`${BASE_URL}/api/sponsors`, JSON.stringify({
+      name: `Load Test Sponsor ${i}`,
+      advertisementType: 'IMAGE',
+      positionType: 'WINDOW',
+      mediaUrl: `https://cdn.example.com/sponsor-${i}.png`,
+      linkUrl: `https://example.com/${i}`,
+      isActive: true,
+    }), jsonHeaders(admin));
+  }
+
+  const runId = Date.now();
+  const users = [];
+  for (let i = 0; i < REGISTERED_USERS; i++) {
+    const res = http.post(`${BASE_URL}/api/auth/register`, JSON.stringify({
+      email: `loadtest-${runId}-${i}@example.com`,
+      password: 'loadtest-password',
+    }), jsonHeaders());
+    if (res.status === 200) {
+      users.push(res.json('token'));
+    }
+  }
+  return { users };
+}
+
+// Per-VU guest session, reused across iterations like a browser keeps its token
+let guestSession = null;
+
+export default function (data) {
+  const registered = data.users.length > 0 && Math.random() < REGISTERED_RATIO;
+  let token;
+  if (registered) {
+    token = data.users[Math.floor(Math.random() * data.users.length)];
+  } else {
+    if (guestSession === null || Math.random() < NEW_GUEST_RATIO) {
+      guestSession = guestToken();
+    }
+    token = guestSession;
+  }
+  if (!token) {
+    return;
+  }
+  const auth = jsonHeaders(token);
+
+  if (Math.random() < VALIDATE_RATIO) {
+    const res = http.get(`${BASE_URL}/api/auth/validate`, tagged(auth, 'validate'));
+    check(res, { 'validate 200': (r) => r.status === 200 });
+  }
+
+  const responses = http.batch([
+    ['GET', `${BASE_URL}/api/news?page=0&size=20`, null, tagged(auth, 'news')],
+    ['GET', `${BASE_URL}/api/sponsors/random`, null, tagged(auth, 'sponsor')],
+  ]);
+  check(responses[0], { 'news 200': (r) => r.status === 200 });
+  check(responses[1], { 'sponsor 2xx': (r) => r.status === 200 || r.status === 204 });
+
+  if (registered) {
+    const history = http.get(`${BASE_URL}/api/history`, tagged(auth, 'history_read'));
+    check(history, { 'history read 200': (r) => r.status === 200 });
+    if (Math.random() < HISTORY_WRITE_RATIO) {
+      const saved = http.post(`${BASE_URL}/api/history`,
+        JSON.stringify({ query: `query ${Math.floor(Math.random() * 100)}` }), tagged(auth, 'history_write'));
+      check(saved, { 'history write 200': (r) => r.status === 200 });
+    }
+  }
+}
+
+function metricValues(data, name) {
+  const metric = data.metrics[name];
+  return metric ? metric.values : null;
+}
+
+export function handleSummary(data) {
+  const seconds = data.state.testRunDurationMs / 1000;
+  const endpoints = {};
+  for (const endpoint of ENDPOINTS) {
+    const duration = metricValues(data, `http_req_duration{endpoint:${endpoint}}`);
+    const requests = metricValues(data, `http_reqs{endpoint:${endpoint}}`);
+    const failed = metricValues(data, `http_req_failed{endpoint:${endpoint}}`);
+    if (!duration || !requests || requests.count === 0) {
+      continue;
+    }
+    endpoints[endpoint] = {
+      requests: requests.count,
+      throughput_rps: Number((requests.count / seconds).toFixed(2)),
+      error_rate: failed ? failed.rate : 0,
+      latency_ms: {
+        p50: duration.med,
+        p95: duration['p(95)'],
+        p99: duration['p(99)'],
+        max: duration.max,
+      },
+    };
+  }
+
+  const result = {
+    timestamp: new Date().toISOString(),
+    config: { rate: RATE, duration: DURATION, registered_users: REGISTERED_USERS },
+    duration_s: seconds,
+    total: {
+      requests: data.metrics.http_reqs.values.count,
+      throughput_rps: Number((data.metrics.http_reqs.values.count / seconds).toFixed(2)),
+      error_rate: data.metrics.http_req_failed.values.rate,
+    },
+    endpoints,
+  };
+
+  const lines = Object.entries(endpoints).map(([name, e]) =>
+    `${name.padEnd(14)} ${String(e.requests).padStart(8)} req ${e.throughput_rps.toFixed(1).padStart(9)} rps `
+    + `p50 ${e.latency_ms.p50.toFixed(1).padStart(7)} ms  p99 ${e.latency_ms.p99.toFixed(1).padStart(7)} ms  `
+    + `err ${(e.error_rate * 100).toFixed(2)}%`);
+
+  return {
+    stdout: `\n${lines.join('\n')}\n\nResults written to ${RESULTS_FILE}\n`,
+    [RESULTS_FILE]: JSON.stringify(result, null, 2),
+  };
+}